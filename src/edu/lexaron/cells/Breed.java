@@ -1,23 +1,34 @@
 package edu.lexaron.cells;
 
+import edu.lexaron.world.World;
+
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
 /**
  * Author: Mirza <mirza.suljic.ba@gmail.com>
  * Date: 19.4.2018. @ 00:49
  */
 public enum Breed {
-  HUNT_CLOSEST("#ff33ff"),
-  HUNT_FIRST("#66ff33"),
-  HUNT_MAX("#ffff33"),
-  LEECH("#0000ff"),
-  SPIDER("#ff0000"),
-  TREE("#ffffff"),
-  VULTURE("#33ffff"),
-  WEED("#8b4513");
+  HUNT_CLOSEST("#ff33ff", "edu/lexaron/gfx/huntClosest.png", HuntClosest::new, HuntClosest::new),
+  HUNT_FIRST("#66ff33", "edu/lexaron/gfx/huntFirst.png", HuntFirst::new, HuntFirst::new),
+  HUNT_MAX("#ffff33", "edu/lexaron/gfx/huntMax.png", HuntMax::new, HuntMax::new),
+  LEECH("#0000ff", "edu/lexaron/gfx/leech.png", Leech::new, Leech::new),
+  SPIDER("#ff0000", "edu/lexaron/gfx/predator.png", Spider::new, Spider::new),
+  TREE("#ffffff", "edu/lexaron/gfx/tree.png", Tree::new, Tree::new),
+  VULTURE("#33ffff", "edu/lexaron/gfx/vulture.png", Vulture::new, Vulture::new),
+  WEED("#8b4513", "edu/lexaron/gfx/weed.png", Weed::new, Weed::new);
 
   private final String colorCode;
+  private final String spritePath;
+  private final Function<World, Cell> spawner;
+  private final Factory factory;
 
-  Breed(String colorCode) {
+  Breed(String colorCode, String spritePath, Function<World, Cell> spawner, Factory factory) {
     this.colorCode = colorCode;
+    this.spritePath = spritePath;
+    this.spawner = spawner;
+    this.factory = factory;
   }
 
   /**
@@ -26,4 +37,43 @@ public enum Breed {
   public String getColorCode() {
     return colorCode;
   }
+
+  /**
+   * The sprite is only referenced by its classpath location, so that the simulation itself never needs a UI toolkit.
+   *
+   * @return the classpath location of this breeds sprite
+   */
+  public String getSpritePath() {
+    return spritePath;
+  }
+
+  /**
+   * Creates a new default member of this breed at a random location in the provided {@link World}.
+   *
+   * @param world where the {@link Cell} is to be created
+   * @return the new {@link Cell}, not yet inserted into the {@link World}
+   */
+  public Cell spawn(World world) {
+    return spawner.apply(world);
+  }
+
+  /**
+   * Creates a member of this breed with default traits and the provided identity, for the caller to set its traits
+   * and state, see {@link CellTransfer}.
+   *
+   * @param geneCode the gene code of the {@link Cell}
+   * @param random   the {@link Cell}'s own random stream
+   * @param table    where the state of the {@link Cell} is stored
+   * @return the new {@link Cell}, not yet inserted into a {@link World}
+   */
+  Cell create(String geneCode, int x, int y, SplittableRandom random, CellTable table) {
+    return factory.create(geneCode, x, y, random, table);
+  }
+
+  /**
+   * The constructor of a {@link Breed}'s class which takes the identity of the new {@link Cell}.
+   */
+  interface Factory {
+    Cell create(String geneCode, int x, int y, SplittableRandom random, CellTable table);
+  }
 }
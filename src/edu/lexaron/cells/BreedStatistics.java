@@ -0,0 +1,127 @@
+package edu.lexaron.cells;
+
+import java.util.Arrays;
+
+/**
+ * Running count, sums, sums of squares and {@link TraitSketch}es of the {@link Trait}s of the live members of one
+ * {@link Breed}. The
+ * {@link CellTable} adds a {@link Cell} when it is inserted into the {@link edu.lexaron.world.World} alive, removes it
+ * when it dies or leaves and replaces its values when a {@link Trait} changes, so means, deviations and quantiles are
+ * available without looking at a single {@link Cell}.
+ * <p>
+ * Updates are synchronized on the instance, as {@link Cell}s of one {@link Breed} can die on several threads at once;
+ * read a {@link #snapshot()} to get consistent values.
+ *
+ * Date: 17.10.2026.
+ */
+public final class BreedStatistics {
+  private static final Trait[] TRAITS = Trait.values();
+
+  private final Breed    breed;
+  private int            count;
+  private final double[] sum, sumOfSquares;
+  private final TraitSketch[] sketches;
+
+  BreedStatistics(Breed breed) {
+    this(breed, 0, new double[TRAITS.length], new double[TRAITS.length], new TraitSketch[TRAITS.length]);
+    for (Trait trait : TRAITS) {
+      sketches[trait.ordinal()] = new TraitSketch();
+    }
+  }
+
+  private BreedStatistics(Breed breed, int count, double[] sum, double[] sumOfSquares, TraitSketch[] sketches) {
+    this.breed        = breed;
+    this.count        = count;
+    this.sum          = sum;
+    this.sumOfSquares = sumOfSquares;
+    this.sketches     = sketches;
+  }
+
+  /**
+   * @return a copy of the current values, which later updates leave untouched
+   */
+  public synchronized BreedStatistics snapshot() {
+    TraitSketch[] copies = new TraitSketch[TRAITS.length];
+    for (Trait trait : TRAITS) {
+      copies[trait.ordinal()] = sketches[trait.ordinal()].copy();
+    }
+    return new BreedStatistics(breed, count, Arrays.copyOf(sum, sum.length), Arrays.copyOf(sumOfSquares, sumOfSquares.length), copies);
+  }
+
+  public Breed getBreed() {
+    return breed;
+  }
+
+  /**
+   * @return the number of live members
+   */
+  public int getCount() {
+    return count;
+  }
+
+  /**
+   * @return the mean of the {@link Trait} over the live members, zero if there are none
+   */
+  public double getMean(Trait trait) {
+    return count == 0 ? 0.0 : sum[trait.ordinal()] / count;
+  }
+
+  /**
+   * @return the population variance of the {@link Trait} over the live members, zero if there are none
+   */
+  public double getVariance(Trait trait) {
+    if (count == 0) {
+      return 0.0;
+    }
+    double mean = getMean(trait);
+    // rounding can push a variance of zero slightly below it
+    return Math.max(0.0, sumOfSquares[trait.ordinal()] / count - mean * mean);
+  }
+
+  /**
+   * @return the population standard deviation of the {@link Trait} over the live members
+   */
+  public double getStandardDeviation(Trait trait) {
+    return Math.sqrt(getVariance(trait));
+  }
+
+  /**
+   * @param quantile between 0 and 1, 0.5 being the median
+   * @return the value of the {@link Trait} at the quantile over the live members, see {@link TraitSketch}
+   */
+  public double getQuantile(Trait trait, double quantile) {
+    return sketches[trait.ordinal()].getQuantile(quantile);
+  }
+
+  /**
+   * @return the distribution of the {@link Trait} over the live members; only read it from a {@link #snapshot()}
+   */
+  public TraitSketch getSketch(Trait trait) {
+    return sketches[trait.ordinal()];
+  }
+
+  /**
+   * Adds the traits of a live member, or removes them with a negative sign.
+   */
+  synchronized void add(double vision, double efficiency, double speed, double biteSize, int sign) {
+    count += sign;
+    accumulate(Trait.VISION, vision, sign);
+    accumulate(Trait.EFFICIENCY, efficiency, sign);
+    accumulate(Trait.SPEED, speed, sign);
+    accumulate(Trait.BITE_SIZE, biteSize, sign);
+  }
+
+  /**
+   * Replaces one value of a {@link Trait} of a live member.
+   */
+  synchronized void replace(Trait trait, double previous, double current) {
+    accumulate(trait, previous, -1);
+    accumulate(trait, current, 1);
+  }
+
+  private void accumulate(Trait trait, double value, int sign) {
+    sum[trait.ordinal()]          += sign * value;
+    sumOfSquares[trait.ordinal()] += sign * value * value;
+    sketches[trait.ordinal()].add(value, sign);
+  }
+}
@@ -1,11 +1,13 @@
 package edu.lexaron.cells;
 
-import edu.lexaron.world.Trail;
+import edu.lexaron.world.Instruments;
 import edu.lexaron.world.World;
 
+import java.util.SplittableRandom;
+
 /**
  * {@link Carnivorous} {@link Cell}s feed on other live {@link Cell}s by either looking for the {@link Cell}s themselves
- * or their {@link Trail}. They do not hunt members of their own {@link Breed}.
+ * or their trail. They do not hunt members of their own {@link Breed}.
  *
  * Author: Mirza <mirza.suljic.ba@gmail.com>
  * Date: 24.4.2018.
@@ -20,20 +22,22 @@ public abstract class Carnivorous extends Cell {
    * @param y          vertical coordinate of birth location
    * @param energy     initial energy level, usually 50
    * @param vision     initial vision range, determines the FoV
-   * @param speed      initial speed, determines how fast the {@link Cell} uses it's {@link Cell#path}
+   * @param speed      initial speed, determines how fast the {@link Cell} uses its planned path
    * @param efficiency initial efficiency, determines how much energy a {@link Cell} expends for each action it takes
    * @param biteSize   initial size of bite, determines how fast the {@link Cell} consumes it's food source
+   * @param random     this {@link Cell}'s own random stream
+   * @param table      where the state of this {@link Cell} is stored
    */
-  Carnivorous(String id, int x, int y, double energy, int vision, double speed, double efficiency, double biteSize, double mutationStepSizeMultiplier) {
-    super(id, x, y, energy, vision, speed, efficiency, biteSize, mutationStepSizeMultiplier);
+  Carnivorous(String id, int x, int y, double energy, int vision, double speed, double efficiency, double biteSize, double mutationStepSizeMultiplier, SplittableRandom random, CellTable table) {
+    super(id, x, y, energy, vision, speed, efficiency, biteSize, mutationStepSizeMultiplier, random, table);
   }
 
   @Override
   public void doHunt(World world) {
-    if (getPath().isEmpty() || getFood() == null) {
-      lookForFood(world);
+    if (!hasPath() || !hasFood()) {
+      searchForFood(world);
     }
-    else if (getFood() != null) {
+    else if (hasFood()) {
       useWholePath(world);
       eat(world);
     }
@@ -49,29 +53,38 @@ public abstract class Carnivorous extends Cell {
   @Override
   public void lookForFood(World w) {
     resetFoodAndPath();
-    Integer foundSmell = 0;
-        loop:
-    for (int v = 1; v <= getVision(); v++) {
-      for (int y = getY() - v; y <= (getY() + v); y++) {
-        for (int x = getX() - v; x <= (getX() + v); x++) {
-          if (isValidLocation(w, x , y)) {
-            Cell  prey  = w.getWorld()[y][x].getCell();
-            Trail trail = w.getWorld()[y][x].getTrail();
-            if (isValidPrey(prey)) {
-              setFood(prey.getX(), prey.getY());
-              break loop;
-            }
-            else {
-              if (trail.getSource() != null && trail.getSource().isAlive() && trail.getSource().getBreed() != getBreed() && trail.getAmount() > foundSmell) {
-                foundSmell = trail.getAmount();
-                setFood(x, y);
-              }
-            }
+    Cell prey = w.findClosestCellNotOf(getX(), getY(), getVision(), getBreed());
+    if (prey != null) {
+      setFood(prey.getX(), prey.getY());
+    }
+    else {
+      followStrongestTrail(w);
+    }
+    findPathToFood();
+  }
+
+  /**
+   * Picks the strongest trail of a live {@link Cell} of another {@link Breed} within vision. Among equally strong
+   * trails the closest wins, then the one in the lowest row and column.
+   */
+  private void followStrongestTrail(World w) {
+    int foundSmell = 0, foundDistance = Integer.MAX_VALUE, inspected = 0;
+    for (int y = getY() - getVision(); y <= (getY() + getVision()); y++) {
+      for (int x = getX() - getVision(); x <= (getX() + getVision()); x++) {
+        if (isValidLocation(w, x, y)) {
+          inspected++;
+          Cell trailSource = w.getTrailSource(x, y);
+          int  smell       = w.getTrailAmount(x, y);
+          int  distance    = Math.max(1, Math.max(Math.abs(x - getX()), Math.abs(y - getY())));
+          if (trailSource != null && !trailSource.diedBefore(w.getTick()) && trailSource.getBreed() != getBreed()
+              && (smell > foundSmell || (smell == foundSmell && smell > 0 && distance < foundDistance))) {
+            foundSmell = smell;
+            foundDistance = distance;
+            setFood(x, y);
           }
         }
       }
     }
-    findPathTo(getFood());
+    Instruments.countTiles(Instruments.Scan.TRAILS, inspected);
   }
 }
-
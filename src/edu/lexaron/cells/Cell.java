@@ -1,13 +1,8 @@
 package edu.lexaron.cells;
 
-import com.sun.istack.internal.Nullable;
+import edu.lexaron.world.Instruments;
 import edu.lexaron.world.Location;
-import edu.lexaron.world.Tile;
-import edu.lexaron.world.Trail;
 import edu.lexaron.world.World;
-import javafx.scene.image.Image;
-
-import java.security.SecureRandom;
 import java.util.*;
 
 /**
@@ -22,29 +17,28 @@ import java.util.*;
  * Refactored: 24.04.2018
  */
 public abstract class Cell {
+  /**
+   * Coordinates reported by {@link #getFoodX()} and {@link #getFoodY()} while a {@link Cell} has no food source.
+   */
+  public static final int NO_FOOD = -1;
 
-  protected static final Random RANDOM    = new SecureRandom();
-  private static final double BIRTH_REQ = 100.0;
   private static final int MAX_BIRTH_TRY = 3;
-  private static final int OFFSPRING_LIMIT = 3;
   private static final int IDLE_DIRECTION_SWITCH_DIVISOR = 50;
   private static final double DELETERIOUS_MUTATION_RATE = 0.9;
-  private static final double MUTATION_RATE = 1;
+  // idle and blocked steps, eating neighbours and the sugar a dying plant spills around itself
+  static final int REACH_MARGIN = 16;
   private static final List<Direction> DIRECTION_LIST = new ArrayList<>(EnumSet.allOf(Direction.class));
 
-  private final int               movement;
+  private static final int MOVEMENT = 1;
+
   private final String            geneCode;
-  private final Queue<Direction>  path;
+  private final SplittableRandom  random;
+  // energy, position, traits, food and path live in the table, see CellTable
+  private final CellTable         table;
+  private final int               row;
 
-  private boolean alive;
-  private int    x, y, vision, trailSize, offspring, oppositeRandomStep, lastRandomStep;
+  private int    handle;
   private Direction idleDirection;
-  private double energy;
-  private double speed;
-  private double efficiency;
-  private double biteSize;
-  private double mutationStepSizeMultiplier;
-  private Location food = null;
 
   /**
    * Creates a new {@link Cell} based on the provided parameters.
@@ -54,37 +48,38 @@ public abstract class Cell {
    * @param y           vertical coordinate of birth location
    * @param energy      initial energy level, usually 50
    * @param vision      initial vision range, determines the FoV
-   * @param speed       initial speed, determines how fast the {@link Cell} uses it's {@link Cell#path}
+   * @param speed       initial speed, determines how fast the {@link Cell} uses its planned path
    * @param efficiency  initial efficiency, determines how much energy a {@link Cell} expends for each action it takes
    * @param biteSize    initial size of bite, determines how fast the {@link Cell} consumes it's food source
    * @param mutationStepSizeMultiplier initial mutation rate (determines step size upon adaption)
+   * @param random      this {@link Cell}'s own random stream, split from its parent's or from the {@link World}'s
+   * @param table       where the state of this {@link Cell} is stored, shared by all {@link Cell}s of a {@link World}
    */
-  @SuppressWarnings ({"UnnecessaryThis"})
+  @SuppressWarnings ({"UnnecessaryThis", "OverridableMethodCallDuringObjectConstruction"})
   protected Cell(String id, int x, int y, double energy, int vision,
-                 double speed, double efficiency, double biteSize, double mutationStepSizeMultiplier) {
-    this.path = new ArrayDeque<>();
+                 double speed, double efficiency, double biteSize, double mutationStepSizeMultiplier,
+                 SplittableRandom random, CellTable table) {
+    this.random = random;
+    this.table = table;
+    this.row = table.allocate(getBreed());
     this.geneCode = id;
-    this.x = x;
-    this.y = y;
-    this.energy     = energy;
-    this.vision     = vision;
-    this.movement   = 1;
-    this.speed      = speed;
-    this.efficiency = efficiency;
+    table.setX(row, x);
+    table.setY(row, y);
+    table.setEnergy(row, energy);
+    table.setVision(row, vision);
+    table.setSpeed(row, speed);
+    table.setEfficiency(row, efficiency);
     shuffleIdleDirection();
     if (energy > 0.0) {
-      this.alive = true;
+      table.setAlive(row, true);
     }
-    this.trailSize = 50;
-    this.biteSize = biteSize;
-    this.mutationStepSizeMultiplier = mutationStepSizeMultiplier;
+    table.setTrailSize(row, 50);
+    table.setBiteSize(row, biteSize);
+    table.setMutationStepSizeMultiplier(row, mutationStepSizeMultiplier);
+    table.setFoodX(row, NO_FOOD);
+    table.setFoodY(row, NO_FOOD);
   }
 
-  /**
-   * @return the {@link Image} that represents this {@link Cell} subclass
-   */
-  public abstract Image getImage();
-
   /**
    * Handle how this {@link Cell} subclass looks for food.
    *
@@ -92,6 +87,17 @@ public abstract class Cell {
    */
   public abstract void lookForFood(World w);
 
+  /**
+   * Runs {@link #lookForFood(World)}, timed by {@link Instruments} while they are on.
+   *
+   * @param world the {@link World} that contains the food
+   */
+  final void searchForFood(World world) {
+    long start = Instruments.start();
+    lookForFood(world);
+    Instruments.stopLookForFood(getBreed(), start);
+  }
+
   /**
    * @return the {@link Breed} this {@link Cell} belongs to
    */
@@ -107,21 +113,21 @@ public abstract class Cell {
 
   abstract void eat(World w);
 
-  abstract Cell doGiveBirth(int x, int y);
+  abstract Cell doGiveBirth(int x, int y, SplittableRandom random);
 
   @SuppressWarnings ({"MagicCharacter"})
   private void tryBirth(World world) {
-    if (energy >= BIRTH_REQ) {
+    if (getEnergy() >= world.getRules().getBirthRequirement()) {
       Location birthPlace = findBirthplace(world);
       if (birthPlace != null) {
-        Cell child = doGiveBirth(birthPlace.getX(), birthPlace.getY());
+        Cell child = doGiveBirth(birthPlace.getX(), birthPlace.getY(), random.split());
         child.inheritFrom(this);
-        if ((double) RANDOM.nextInt(100) / 100 <= MUTATION_RATE){
+        if ((double) random.nextInt(100) / 100 <= world.getRules().getMutationRate()){
           child.evolve();
         }
         world.getNewBornCells().add(child);
-        offspring += 1;
-        energy /= 3.0;
+        table.setOffspring(row, table.getOffspring(row) + 1);
+        table.setEnergy(row, getEnergy() / 3.0);
       }
       else {
         die(world);
@@ -130,20 +136,37 @@ public abstract class Cell {
   }
 
   /**
-   * Handles upkeep, includes the {@link Cell#doHunt(World)} method, tries to produce offspring and handles death.
+   * The first of the three parts of a life, followed by {@link #doHunt(World)} if it returns true and then by
+   * {@link #endLife(World, boolean)}: catches up on slept ticks and handles upkeep. The parts are called by
+   * {@code edu.lexaron.simulation.BreedKernels}, which knows the class of each {@link Cell}.
    *
    * @param world where it all takes place
+   * @return whether or not this {@link Cell} is still alive and hunts
    */
   @SuppressWarnings ("MagicNumber")
-  public final void live(World world) {
+  public final boolean beginLife(World world) {
+    int sleptSince = table.getSleepFrom(row);
+    if (sleptSince != 0) {
+      table.setSleepFrom(row, 0);
+      table.setSleepUntil(row, 0);
+      catchUp(world, world.getTick() - sleptSince);
+    }
     upkeep(world);
-    if (alive) {
-      doHunt(world);
-      if (path.isEmpty() && food == null) {
-        behave(world);
-        move(world, idleDirection);
-        randomStep(world);
-      }
+    return isAlive();
+  }
+
+  /**
+   * The last part of a life, after {@link #beginLife(World)} and {@link #doHunt(World)}: wanders if nothing was found
+   * and tries to produce offspring.
+   *
+   * @param world  where it all takes place
+   * @param hunted whether or not {@link #beginLife(World)} let this {@link Cell} hunt
+   */
+  public final void endLife(World world, boolean hunted) {
+    if (hunted && !hasPath() && !hasFood()) {
+      behave(world);
+      move(world, idleDirection);
+      randomStep(world);
     }
     tryBirth(world);
   }
@@ -154,42 +177,93 @@ public abstract class Cell {
    * @return the amount of energy this {@link Cell} has
    */
   public final double getEnergy() {
-    return energy;
+    return table.getEnergy(row);
   }
 
   /**
    * @return the horizontal coordinate of this {@link Cell}
    */
   public final int getX() {
-    return x;
+    return table.getX(row);
   }
 
   /**
    * @return the vertical coordinate of this {@link Cell}
    */
   public final int getY() {
-    return y;
+    return table.getY(row);
   }
 
   /**
    * @param x new horizontal coordinate of this {@link Cell}
    */
   public final void setX(int x) {
-    this.x = x;
+    table.setX(row, x);
   }
 
   /**
    * @param y new vertical coordinate of this {@link Cell}
    */
   public final void setY(int y) {
-    this.y = y;
+    table.setY(row, y);
+  }
+
+  /**
+   * A conservative radius around this {@link Cell} that one life, from {@link #beginLife(World)} to
+   * {@link #endLife(World, boolean)}, may read or write: its moves, the food it may still be walking towards (the path
+   * may stray from it by one tile per step), its prey and its offspring.
+   *
+   * @return the reach of this {@link Cell} in tiles
+   */
+  @SuppressWarnings ("MagicNumber")
+  public int getReach() {
+    return 3 * getVision() + (int) Math.ceil(getSpeed()) + REACH_MARGIN;
+  }
+
+  /**
+   * @return the handle under which the {@link World} references this {@link Cell}
+   */
+  public final int getHandle() {
+    return handle;
+  }
+
+  /**
+   * @param handle the handle assigned by {@link World#register(Cell)}
+   */
+  public final void setHandle(int handle) {
+    this.handle = handle;
+    table.setInserted(row, true);
+  }
+
+  /**
+   * Hands the row of this {@link Cell} back to its {@link CellTable}, called by {@link World#release(Cell)} once the
+   * {@link Cell} has left the {@link World} for good. Its state must not be read afterwards.
+   */
+  public final void releaseState() {
+    table.free(row);
+  }
+
+  /**
+   * @return the {@link CellTable} this {@link Cell} keeps its state in
+   */
+  final CellTable getTable() {
+    return table;
+  }
+
+  /**
+   * @return the row of the {@link CellTable} this {@link Cell} keeps its state in
+   */
+  final int getRow() {
+    return row;
   }
 
   public final Direction getIdleDirection() { return idleDirection; }
 
+  final void setIdleDirection(Direction idleDirection) { this.idleDirection = idleDirection; }
+
   public final void shuffleIdleDirection() {
-    if (idleDirection == null || (RANDOM.nextInt(IDLE_DIRECTION_SWITCH_DIVISOR) == 0)) {
-      idleDirection = DIRECTION_LIST.get(RANDOM.nextInt(DIRECTION_LIST.size() -1));
+    if (idleDirection == null || (random.nextInt(IDLE_DIRECTION_SWITCH_DIVISOR) == 0)) {
+      idleDirection = DIRECTION_LIST.get(random.nextInt(DIRECTION_LIST.size() -1));
     }
   }
 
@@ -199,7 +273,7 @@ public abstract class Cell {
    * @return this {@link Cell}'s range of sight
    */
   public final int getVision() {
-    return vision;
+    return table.getVision(row);
   }
 
   /**
@@ -207,7 +281,7 @@ public abstract class Cell {
    *
    * @return this {@link Cell}'s step magnitude during evolution.
    */
-  public final double getMutationStepSizeMultiplier() { return mutationStepSizeMultiplier; }
+  public final double getMutationStepSizeMultiplier() { return table.getMutationStepSizeMultiplier(row); }
 
   /**
    * Determines how fast a {@link Cell} uses it's path.
@@ -215,7 +289,7 @@ public abstract class Cell {
    * @return this {@link Cell}'s speed
    */
   public final double getSpeed() {
-    return speed;
+    return table.getSpeed(row);
   }
 
   /**
@@ -224,7 +298,7 @@ public abstract class Cell {
    * @return a coefficient which influences how much each energy is used in each activity
    */
   public final double getEfficiency() {
-    return efficiency;
+    return table.getEfficiency(row);
   }
 
   /**
@@ -233,54 +307,69 @@ public abstract class Cell {
    * @return the amount of energy a {@link Cell} consumes in one go
    */
   public double getBiteSize() {
-    return biteSize;
+    return table.getBiteSize(row);
   }
 
   /**
    * @return whether or not this {@link Cell} is alive
    */
   public final boolean isAlive() {
-    return alive;
+    return table.isAlive(row);
+  }
+
+  /**
+   * Unlike {@link #isAlive()}, the answer does not change while the given tick is being simulated, which keeps
+   * partitions of the world that run concurrently independent of each other.
+   *
+   * @param tick the tick in question
+   * @return whether or not this {@link Cell} had already died when the given tick started
+   */
+  public final boolean diedBefore(int tick) {
+    return table.getDeathTick(row) < tick;
   }
 
   /**
-   * @return the {@link Location} where this {@link Cell} detected a food source
+   * @return whether or not this {@link Cell} detected a food source
    */
-  @Nullable
-  public Location getFood() {
-    return food;
+  public final boolean hasFood() {
+    return table.getFoodX(row) != NO_FOOD;
   }
 
-  static Random getRandom() {
-    return RANDOM;
+  /**
+   * @return the horizontal coordinate of the food source this {@link Cell} detected, or {@link #NO_FOOD}
+   */
+  public final int getFoodX() {
+    return table.getFoodX(row);
+  }
+
+  /**
+   * @return the vertical coordinate of the food source this {@link Cell} detected, or {@link #NO_FOOD}
+   */
+  public final int getFoodY() {
+    return table.getFoodY(row);
+  }
+
+  final SplittableRandom getRandom() {
+    return random;
   }
 
   public void behave(World world) { shuffleIdleDirection(); }
 
-  void findPathTo(Location target) {
-    if (target != null) {
-      int difY = target.getY() - y;
-      int difX = target.getX() - x;
-      if (difX > 0) {
-        for (int i = 0; i < Math.abs(difX); i++) {
-          path.offer(Direction.RIGHT);
-        }
-      }
-      if (difX < 0) {
-        for (int i = 0; i < Math.abs(difX); i++) {
-          path.offer(Direction.LEFT);
-        }
-      }
-      if (difY > 0) {
-        for (int i = 0; i < Math.abs(difY); i++) {
-          path.offer(Direction.DOWN);
-        }
-      }
-      if (difY < 0) {
-        for (int i = 0; i < Math.abs(difY); i++) {
-          path.offer(Direction.UP);
-        }
-      }
+  /**
+   * Plans the path towards the provided tile: first all horizontal steps, then all vertical ones. Only the number of
+   * steps left along each axis is kept, a sign giving the direction.
+   */
+  void findPathTo(int targetX, int targetY) {
+    table.setPathX(row, targetX - getX());
+    table.setPathY(row, targetY - getY());
+  }
+
+  /**
+   * Plans the path towards the food source, or forgets the path if there is none.
+   */
+  void findPathToFood() {
+    if (hasFood()) {
+      findPathTo(getFoodX(), getFoodY());
     }
     else {
       resetFoodAndPath();
@@ -288,52 +377,75 @@ public abstract class Cell {
   }
 
   void setFood(int x, int y) {
-    food = new Location(x, y);
+    table.setFoodX(row, x);
+    table.setFoodY(row, y);
   }
 
   void resetFoodAndPath() {
-    path.clear();
-    food = null;
+    table.setPathX(row, 0);
+    table.setPathY(row, 0);
+    table.setFoodX(row, NO_FOOD);
+    table.setFoodY(row, NO_FOOD);
+  }
+
+  /**
+   * @return whether or not any steps of the path are left
+   */
+  final boolean hasPath() {
+    return table.getPathX(row) != 0 || table.getPathY(row) != 0;
   }
 
   void useWholePath(World w) {
-    for (int i = 0; i < speed; i++) {
-      if (!path.isEmpty()) {
-        move(w, path.poll());
+    int steps = 0;
+    for (int i = 0; i < getSpeed(); i++) {
+      int pathX = table.getPathX(row), pathY = table.getPathY(row);
+      // the step is taken off the path first, moving off the edge of the world forgets the rest of the path
+      if (pathX != 0) {
+        table.setPathX(row, pathX - Integer.signum(pathX));
+        move(w, pathX > 0 ? Direction.RIGHT : Direction.LEFT);
+        steps++;
+      }
+      else if (pathY != 0) {
+        table.setPathY(row, pathY - Integer.signum(pathY));
+        move(w, pathY > 0 ? Direction.DOWN : Direction.UP);
+        steps++;
       }
     }
+    Instruments.countPathSteps(getBreed(), steps);
   }
 
   // Take a random step; avoid opposite direction of last step
   void randomStep(World w) {
-    int roll = RANDOM.nextInt(DIRECTION_LIST.size());
-    while (roll == oppositeRandomStep && roll == lastRandomStep) {
-      roll = RANDOM.nextInt(DIRECTION_LIST.size());
+    int roll = random.nextInt(DIRECTION_LIST.size());
+    while (roll == table.getOppositeRandomStep(row) && roll == table.getLastRandomStep(row)) {
+      roll = random.nextInt(DIRECTION_LIST.size());
     }
-    oppositeRandomStep = DIRECTION_LIST.size() - 1 - roll;
-    lastRandomStep = roll;
+    table.setOppositeRandomStep(row, DIRECTION_LIST.size() - 1 - roll);
+    table.setLastRandomStep(row, roll);
     move(w, DIRECTION_LIST.get(roll));
   }
 
   @SuppressWarnings ({"ImplicitNumericConversion", "ProhibitedExceptionCaught"})
   void move(World world, Direction dir) {
+      int x = getX(), y = getY();
       if (isValidLocation(world, x + dir.getDeltaX(), y + dir.getDeltaY())) {
-        Tile targetLocation = world.getWorld()[y + dir.getDeltaY()][x + dir.getDeltaX()];
-        if (targetLocation.getCell() == null) {
-          if ((energy - (movement * efficiency)) > 0) {
-            energy -= (movement * efficiency);
-            world.getWorld()[y][x].setCell(null);
+        if (world.getCell(x + dir.getDeltaX(), y + dir.getDeltaY()) == null) {
+          if ((getEnergy() - (MOVEMENT * getEfficiency())) > 0) {
+            table.setEnergy(row, getEnergy() - (MOVEMENT * getEfficiency()));
+            world.setCell(x, y, null);
             y += dir.getDeltaY();
             x += dir.getDeltaX();
-            world.getWorld()[y][x].setTrail(new Trail(trailSize, this));
-            world.getWorld()[y][x].setCell(this);
+            setX(x);
+            setY(y);
+            world.setTrail(x, y, table.getTrailSize(row), this);
+            world.setCell(x, y, this);
           }
           else {
             die(world);
           }
 
         }
-        else {
+        else if (!isBoxedIn(world)) {
           randomStep(world);
         }
       }
@@ -342,19 +454,134 @@ public abstract class Cell {
       }
   }
 
+  // a cell surrounded by others waits, instead of rolling random steps forever
+  private boolean isBoxedIn(World world) {
+    for (Direction dir : DIRECTION_LIST) {
+      int x = getX() + dir.getDeltaX(), y = getY() + dir.getDeltaY();
+      if (!isValidLocation(world, x, y) || world.getCell(x, y) == null) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   private void circumnavigate(World world, int x, int y) {
     x = x >= world.getWidth()  ? 0 : x < 0 ? world.getWidth() -1 : x;
     y = y >= world.getHeight() ? 0 : y < 0 ? world.getHeight() -1 : y;
-    world.getWorld()[this.y][this.x].setCell(null);
-    world.getWorld()[y][x].setTrail(new Trail(trailSize, this));
-    world.getWorld()[y][x].setCell(this);
-    this.x = x;
-    this.y = y;
+    world.setCell(getX(), getY(), null);
+    world.setTrail(x, y, table.getTrailSize(row), this);
+    world.setCell(x, y, this);
+    setX(x);
+    setY(y);
     resetFoodAndPath();
   }
 
   void setEnergy(double energy, Breed... settingBreed) {
-    this.energy = energy;
+    table.setEnergy(row, energy);
+    wake();
+  }
+
+  /**
+   * Counts the upcoming ticks in which this {@link Cell} would do nothing but repeat what it did in the last one, with
+   * an outcome that can be worked out without simulating them, see {@link #catchUp(World, int)}.
+   *
+   * @param world where the {@link Cell} lives
+   * @param limit the most ticks worth counting
+   * @return the number of such ticks, 0 for {@link Cell}s which never sleep
+   */
+  public int countQuietTicks(World world, int limit) {
+    return 0;
+  }
+
+  /**
+   * Lets this {@link Cell} skip the provided number of ticks, see {@link #countQuietTicks(World, int)}. It wakes up
+   * earlier if its surroundings change in a way that concerns it.
+   *
+   * @param world where the {@link Cell} lives
+   * @param ticks how many ticks to skip
+   * @return whether or not the {@link Cell} fell asleep
+   */
+  public boolean sleep(World world, int ticks) {
+    return false;
+  }
+
+  /**
+   * Makes this {@link Cell} skip ticks from the next one on, {@link #beginLife(World)} catches up on them once it
+   * wakes.
+   */
+  final void fallAsleep(World world, int ticks) {
+    table.setSleepFrom(row, world.getTick() + 1);
+    table.setSleepUntil(row, world.getTick() + 1 + ticks);
+  }
+
+  /**
+   * Applies the outcome of ticks skipped while asleep. Unless it is done sleeping, the {@link Cell} sleeps on.
+   *
+   * @param world where the {@link Cell} lives
+   * @param ticks how many ticks were skipped
+   */
+  void catchUp(World world, int ticks) {
+  }
+
+  /**
+   * @param world where the {@link Cell} lives
+   * @param ticks how many ticks were skipped
+   * @return the energy {@link #catchUp(World, int)} would leave this {@link Cell} with
+   */
+  double getEnergyAfter(World world, int ticks) {
+    return getEnergy();
+  }
+
+  /**
+   * Catches up on the ticks this {@link Cell} slept through so far, without waking it. Other {@link Cell}s call it
+   * before they read or change the energy of this one, so that they never act on the energy it had when it fell
+   * asleep.
+   *
+   * @param world where the {@link Cell} lives
+   */
+  public final void settle(World world) {
+    int sleptSince = table.getSleepFrom(row);
+    if (sleptSince != 0 && sleptSince < world.getTick()) {
+      table.setSleepFrom(row, world.getTick());
+      catchUp(world, world.getTick() - sleptSince);
+    }
+  }
+
+  /**
+   * Like {@link #getEnergy()}, but including the ticks this {@link Cell} slept through without catching up on them
+   * yet. Changes nothing, unlike {@link #settle(World)}.
+   *
+   * @param world where the {@link Cell} lives
+   * @return the energy this {@link Cell} has at the current tick
+   */
+  public final double getCurrentEnergy(World world) {
+    int sleptSince = table.getSleepFrom(row);
+    return sleptSince != 0 && sleptSince < world.getTick() ? getEnergyAfter(world, world.getTick() - sleptSince) : getEnergy();
+  }
+
+  /**
+   * Sets the energy this {@link Cell} gained while asleep, without waking it like
+   * {@link #setEnergy(double, Breed...)} does.
+   */
+  final void setSleptEnergy(double energy) {
+    table.setEnergy(row, energy);
+  }
+
+  /**
+   * @param tick the tick in question
+   * @return whether or not this {@link Cell} skips the given tick
+   */
+  public final boolean isAsleep(int tick) {
+    return table.getSleepUntil(row) > tick;
+  }
+
+  /**
+   * Ends the sleep of this {@link Cell}, it lives again at its next turn.
+   */
+  public final void wake() {
+    if (table.getSleepUntil(row) != 0) {
+      table.setSleepUntil(row, 0);
+    }
   }
 
   boolean isValidLocation(World world, int x, int y) {
@@ -362,23 +589,19 @@ public abstract class Cell {
         && y >= 0 && y < world.getHeight();
   }
 
-  @SuppressWarnings ("AssignmentOrReturnOfFieldWithMutableType")
-  Queue<Direction> getPath() {
-    return path;
-  }
-
   // TODO: make this wrap around world
   Location findBirthplace(World w) {
     Location birthplace = null;
     boolean found = false;
     int tryCounter = 0;
+    int x = getX(), y = getY(), vision = getVision();
       loop:
     while (!found) {
       tryCounter += 1;
-      int rx = RANDOM.nextInt(((x + vision) - (x - vision)) + 1) + (x - vision);
-      int ry = RANDOM.nextInt(((y + vision) - (y - vision)) + 1) + (y - vision);
+      int rx = random.nextInt(((x + vision) - (x - vision)) + 1) + (x - vision);
+      int ry = random.nextInt(((y + vision) - (y - vision)) + 1) + (y - vision);
       if (!(ry < 0 || rx < 0 || ry >= w.getHeight() || rx >= w.getWidth())) {
-        if (w.getWorld()[ry][rx].getCell() == null && w.getWorld()[ry][rx].getDeadCell() == null) {
+        if (w.getCell(rx, ry) == null && w.getDeadCell(rx, ry) == null) {
           birthplace = new Location(rx, ry);
           found = true;
         }
@@ -395,17 +618,17 @@ public abstract class Cell {
   }
 
   int getOffspring() {
-    return offspring;
+    return table.getOffspring(row);
   }
 
   private void evolve() {
-    Boolean isDeleterious = RANDOM.nextInt(10) < 10 * DELETERIOUS_MUTATION_RATE;
-    double fuzzFactor = RANDOM.nextGaussian();
+    Boolean isDeleterious = random.nextInt(10) < 10 * DELETERIOUS_MUTATION_RATE;
+    double fuzzFactor = nextGaussian();
     if (fuzzFactor < 0) {fuzzFactor *= -1;}
     fuzzFactor += 1;
     fuzzFactor /= 20;
     fuzzFactor += 1; //TODO: fix this mess
-    switch (RANDOM.nextInt(5)) {  // do not allow increasing of step size multiplier
+    switch (random.nextInt(5)) {  // do not allow increasing of step size multiplier
       case 0:
         mutateVision(isDeleterious, fuzzFactor);
         break;
@@ -427,84 +650,106 @@ public abstract class Cell {
     }
   }
 
+  // Marsaglia polar method, SplittableRandom has no nextGaussian()
+  @SuppressWarnings ("MagicNumber")
+  private double nextGaussian() {
+    double v1, v2, s;
+    do {
+      v1 = 2.0 * random.nextDouble() - 1.0;
+      v2 = 2.0 * random.nextDouble() - 1.0;
+      s = v1 * v1 + v2 * v2;
+    }
+    while (s >= 1.0 || s == 0.0);
+    return v1 * Math.sqrt(-2.0 * Math.log(s) / s);
+  }
+
   private void inheritFrom(Cell parent) {
-    energy      = parent.getEnergy() / 3.0;
-    vision      = parent.getVision();
-    speed       = parent.getSpeed();
-    efficiency  = parent.getEfficiency();
-    biteSize    = parent.getBiteSize();
-    mutationStepSizeMultiplier = parent.getMutationStepSizeMultiplier();
+    table.setEnergy(row, parent.getEnergy() / 3.0);
+    table.setVision(row, parent.getVision());
+    table.setSpeed(row, parent.getSpeed());
+    table.setEfficiency(row, parent.getEfficiency());
+    table.setBiteSize(row, parent.getBiteSize());
+    table.setMutationStepSizeMultiplier(row, parent.getMutationStepSizeMultiplier());
   }
 
   private void upkeep(World w) {
 //    energy -= biteSize * efficiency / 10.0; // todo Mirza : think of a tax
-    if (!alive || energy <= 0.0 || offspring >= OFFSPRING_LIMIT) {
+    if (!isAlive() || getEnergy() <= 0.0 || getOffspring() >= w.getRules().getOffspringLimit()) {
       die(w);
     }
   }
 
   protected void die(World world) {
-    alive = false;
-    world.getWorld()[y][x].setDeadCell(this);
-    world.getWorld()[y][x].setCell(null);
+    if (isAlive()) {
+      table.setDeathTick(row, world.getTick());
+    }
+    table.setAlive(row, false);
+    world.setDeadCell(getX(), getY(), this);
+    world.setCell(getX(), getY(), null);
   }
 
-  // TODO: let vision evolve in other increments dependent on MUTATION_RATE
+  // TODO: let vision evolve in other increments dependent on the mutation rate
   private void mutateVision(Boolean isDeleterious, double fuzzFactor) {
     double baseVisionChange = 1;
-    int cumulativeVisionChange = (int) Math.round(baseVisionChange * mutationStepSizeMultiplier * fuzzFactor);
+    int cumulativeVisionChange = (int) Math.round(baseVisionChange * getMutationStepSizeMultiplier() * fuzzFactor);
+    int vision = getVision();
     if (isDeleterious) {
       vision -= cumulativeVisionChange;
     } else {
       vision += cumulativeVisionChange;
     }
     if (vision < 1) { vision = 1; }
+    table.setVision(row, vision);
   }
 
   private void mutateEfficiency(Boolean isDeleterious, double fuzzFactor) {
     double baseEfficiencyChange = 1.05;
-    double cumulativeEfficiencyChange = baseEfficiencyChange * mutationStepSizeMultiplier * fuzzFactor;
+    double cumulativeEfficiencyChange = baseEfficiencyChange * getMutationStepSizeMultiplier() * fuzzFactor;
     if (isDeleterious) {
-      efficiency *= cumulativeEfficiencyChange;
+      table.setEfficiency(row, getEfficiency() * cumulativeEfficiencyChange);
     } else {
-      efficiency /= cumulativeEfficiencyChange;
+      table.setEfficiency(row, getEfficiency() / cumulativeEfficiencyChange);
     }
   }
 
   private void mutateSpeed(Boolean isDeleterious, double fuzzFactor) {
     double baseSpeedChange = 0.25;
-    double cumulativeSpeedChange = baseSpeedChange * mutationStepSizeMultiplier * fuzzFactor;
+    double cumulativeSpeedChange = baseSpeedChange * getMutationStepSizeMultiplier() * fuzzFactor;
+    double speed = getSpeed();
     if (isDeleterious) {
       speed -= cumulativeSpeedChange;
     } else {
       speed += cumulativeSpeedChange;
     }
     if (speed <= 0.01 ) { speed = 0.01; }
+    table.setSpeed(row, speed);
   }
 
   private void mutateTrailSize(Boolean isDeleterious, double fuzzFactor) {
     double baseTrailSizeChange = 1;
-    int cumulativeTrailSizeChange = (int) Math.round(baseTrailSizeChange * mutationStepSizeMultiplier * fuzzFactor);
+    int cumulativeTrailSizeChange = (int) Math.round(baseTrailSizeChange * getMutationStepSizeMultiplier() * fuzzFactor);
+    int trailSize = table.getTrailSize(row);
     if (isDeleterious) {
       trailSize -= cumulativeTrailSizeChange;
     } else {
       trailSize += cumulativeTrailSizeChange;
     }
     if (trailSize < 2) {trailSize = 2;}
+    table.setTrailSize(row, trailSize);
   }
 
   private void mutateBiteSize(Boolean isDeleterious, double fuzzFactor) {
     double baseBiteSizeChange = 1.05;
-    double cumulativeBiteSizeChange = baseBiteSizeChange * mutationStepSizeMultiplier * fuzzFactor;
+    double cumulativeBiteSizeChange = baseBiteSizeChange * getMutationStepSizeMultiplier() * fuzzFactor;
     if (isDeleterious) {
-      biteSize /= cumulativeBiteSizeChange;
+      table.setBiteSize(row, table.getBiteSize(row) / cumulativeBiteSizeChange);
     } else {
-      biteSize *= cumulativeBiteSizeChange;
+      table.setBiteSize(row, table.getBiteSize(row) * cumulativeBiteSizeChange);
     }
   }
 
   private void mutateMutationStepSizeMultiplier(Boolean isDeleterious, double fuzzFactor) {
-    mutationStepSizeMultiplier *= 1.5;
+    table.setMutationStepSizeMultiplier(row, getMutationStepSizeMultiplier() * 1.5);
   }
 
 }
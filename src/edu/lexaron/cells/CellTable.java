@@ -0,0 +1,334 @@
+package edu.lexaron.cells;
+
+import edu.lexaron.world.World;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Structure-of-arrays storage for the scalar state of the {@link Cell}s of one {@link edu.lexaron.world.World}: every
+ * field is a primitive column, and every {@link Cell} owns one row of all columns. A {@link Cell} object itself only
+ * keeps its row and its random stream, so passes over one field of many {@link Cell}s read a dense array instead of
+ * chasing one object per {@link Cell}.
+ * <p>
+ * Columns are split into pages of {@value #PAGE_SIZE} rows which never move once allocated. Adding a page replaces the
+ * arrays that hold the pages, which threads reading the table may not see in time, so pages are only added while a
+ * single thread uses the table: before several threads allocate rows at once, {@link #reserve(int)} adds every page
+ * they may need. Rows of released {@link Cell}s are reused.
+ * <p>
+ * The table also counts the live {@link Cell}s and corpses which are inserted into the
+ * {@link edu.lexaron.world.World}, per {@link Breed} and per region of {@link World#REGION_SIZE} by
+ * {@link World#REGION_SIZE} tiles. The counts are updated whenever a row is inserted, dies, moves or is freed, so reading
+ * them costs the same for any population. Regions are aligned to 64 rows like the strips of
+ * {@code edu.lexaron.simulation.Life}, so the counts of a region are only ever written by one thread at a time; the
+ * counts per {@link Breed} are shared and therefore atomic. The {@link BreedStatistics} of the live {@link Cell}s are
+ * kept up to date the same way.
+ *
+ * Date: 17.10.2026.
+ */
+public final class CellTable {
+  private static final int     PAGE_BITS = 12;
+  private static final int     PAGE_SIZE = 1 << PAGE_BITS;
+  private static final int     PAGE_MASK = PAGE_SIZE - 1;
+  private static final Breed[] BREEDS    = Breed.values();
+
+  private int[][]     x, y, vision, trailSize, offspring, oppositeRandomStep, lastRandomStep, deathTick;
+  private int[][]     foodX, foodY, pathX, pathY, sleepFrom, sleepUntil;
+  private double[][]  energy, speed, efficiency, biteSize, mutationStepSizeMultiplier;
+  private byte[][]    breed;
+  private boolean[][] alive, inserted;
+  private int         pages, rows;
+  private int[]       freeRows = new int[64];
+  private int         freeCount;
+  private final int   regionsX;
+  private final int[] regionLive, regionDead;
+  private final AtomicIntegerArray breedLive = new AtomicIntegerArray(BREEDS.length);
+  private final AtomicIntegerArray breedDead = new AtomicIntegerArray(BREEDS.length);
+  private final BreedStatistics[]  statistics = new BreedStatistics[BREEDS.length];
+
+  /**
+   * @param width  of the {@link World}, in tiles
+   * @param height of the {@link World}, in tiles
+   */
+  public CellTable(int width, int height) {
+    regionsX   = (width + World.REGION_SIZE - 1) / World.REGION_SIZE;
+    regionLive = new int[regionsX * ((height + World.REGION_SIZE - 1) / World.REGION_SIZE)];
+    regionDead = new int[regionLive.length];
+    for (Breed owner : BREEDS) {
+      statistics[owner.ordinal()] = new BreedStatistics(owner);
+    }
+    x                          = new int[8][];
+    y                          = new int[8][];
+    vision                     = new int[8][];
+    trailSize                  = new int[8][];
+    offspring                  = new int[8][];
+    oppositeRandomStep         = new int[8][];
+    lastRandomStep             = new int[8][];
+    deathTick                  = new int[8][];
+    foodX                      = new int[8][];
+    foodY                      = new int[8][];
+    pathX                      = new int[8][];
+    pathY                      = new int[8][];
+    sleepFrom                  = new int[8][];
+    sleepUntil                 = new int[8][];
+    energy                     = new double[8][];
+    speed                      = new double[8][];
+    efficiency                 = new double[8][];
+    biteSize                   = new double[8][];
+    mutationStepSizeMultiplier = new double[8][];
+    breed                      = new byte[8][];
+    alive                      = new boolean[8][];
+    inserted                   = new boolean[8][];
+  }
+
+  /**
+   * Reserves a row for a new {@link Cell}. Safe to call from several threads at once, as long as
+   * {@link #reserve(int)} made room for all rows they allocate.
+   *
+   * @param owner {@link Breed} of the new {@link Cell}
+   * @return the row of the new {@link Cell}, with every other field zeroed
+   */
+  synchronized int allocate(Breed owner) {
+    int row = freeCount > 0 ? freeRows[--freeCount] : rows++;
+    if (row >>> PAGE_BITS == pages) {
+      addPage();
+    }
+    int p = row >>> PAGE_BITS, i = row & PAGE_MASK;
+    x[p][i] = y[p][i] = vision[p][i] = trailSize[p][i] = offspring[p][i] = 0;
+    oppositeRandomStep[p][i] = lastRandomStep[p][i] = 0;
+    foodX[p][i] = foodY[p][i] = pathX[p][i] = pathY[p][i] = sleepFrom[p][i] = sleepUntil[p][i] = 0;
+    deathTick[p][i] = Integer.MAX_VALUE;
+    energy[p][i] = speed[p][i] = efficiency[p][i] = biteSize[p][i] = mutationStepSizeMultiplier[p][i] = 0.0;
+    breed[p][i]    = (byte) owner.ordinal();
+    alive[p][i]    = false;
+    inserted[p][i] = false;
+    return row;
+  }
+
+  /**
+   * Adds pages until the provided number of rows can be allocated without adding another one. Call it while no other
+   * thread uses the table.
+   *
+   * @param count the number of rows to make room for
+   */
+  public synchronized void reserve(int count) {
+    while (freeCount + pages * PAGE_SIZE - rows < count) {
+      addPage();
+    }
+  }
+
+  /**
+   * Returns the row of a {@link Cell} that left the {@link edu.lexaron.world.World} for good.
+   *
+   * @param row the row to reuse
+   */
+  synchronized void free(int row) {
+    if (inserted[row >>> PAGE_BITS][row & PAGE_MASK]) {
+      count(row, -1);
+    }
+    inserted[row >>> PAGE_BITS][row & PAGE_MASK] = false;
+    alive[row >>> PAGE_BITS][row & PAGE_MASK]    = false;
+    if (freeCount == freeRows.length) {
+      freeRows = Arrays.copyOf(freeRows, freeCount * 2);
+    }
+    freeRows[freeCount++] = row;
+  }
+
+  /**
+   * @return the number of live {@link Cell}s of the provided {@link Breed} inserted into the {@link World}
+   */
+  public int countLive(Breed breed) {
+    return breedLive.get(breed.ordinal());
+  }
+
+  /**
+   * @return the number of corpses of the provided {@link Breed} inserted into the {@link World}
+   */
+  public int countDead(Breed breed) {
+    return breedDead.get(breed.ordinal());
+  }
+
+  /**
+   * @param region the index of a region, see {@link World#getRegion(int, int)}
+   * @return the number of live {@link Cell}s within the region
+   */
+  public int countLiveIn(int region) {
+    return regionLive[region];
+  }
+
+  /**
+   * @param region the index of a region, see {@link World#getRegion(int, int)}
+   * @return the number of corpses within the region
+   */
+  public int countDeadIn(int region) {
+    return regionDead[region];
+  }
+
+  /**
+   * Adds the provided row to, or removes it from, the counts of its {@link Breed} and region.
+   */
+  private void count(int row, int delta) {
+    int p = row >>> PAGE_BITS, i = row & PAGE_MASK;
+    (alive[p][i] ? breedLive : breedDead).addAndGet(breed[p][i], delta);
+    countRegion(row, delta);
+    if (alive[p][i]) {
+      statistics[breed[p][i]].add(vision[p][i], efficiency[p][i], speed[p][i], biteSize[p][i], delta);
+    }
+  }
+
+  private void countRegion(int row, int delta) {
+    int p = row >>> PAGE_BITS, i = row & PAGE_MASK;
+    int region = (y[p][i] / World.REGION_SIZE) * regionsX + x[p][i] / World.REGION_SIZE;
+    (alive[p][i] ? regionLive : regionDead)[region] += delta;
+  }
+
+  private void addPage() {
+    if (pages == x.length) {
+      int length = pages * 2;
+      x                          = Arrays.copyOf(x, length);
+      y                          = Arrays.copyOf(y, length);
+      vision                     = Arrays.copyOf(vision, length);
+      trailSize                  = Arrays.copyOf(trailSize, length);
+      offspring                  = Arrays.copyOf(offspring, length);
+      oppositeRandomStep         = Arrays.copyOf(oppositeRandomStep, length);
+      lastRandomStep             = Arrays.copyOf(lastRandomStep, length);
+      deathTick                  = Arrays.copyOf(deathTick, length);
+      foodX                      = Arrays.copyOf(foodX, length);
+      foodY                      = Arrays.copyOf(foodY, length);
+      pathX                      = Arrays.copyOf(pathX, length);
+      pathY                      = Arrays.copyOf(pathY, length);
+      sleepFrom                  = Arrays.copyOf(sleepFrom, length);
+      sleepUntil                 = Arrays.copyOf(sleepUntil, length);
+      energy                     = Arrays.copyOf(energy, length);
+      speed                      = Arrays.copyOf(speed, length);
+      efficiency                 = Arrays.copyOf(efficiency, length);
+      biteSize                   = Arrays.copyOf(biteSize, length);
+      mutationStepSizeMultiplier = Arrays.copyOf(mutationStepSizeMultiplier, length);
+      breed                      = Arrays.copyOf(breed, length);
+      alive                      = Arrays.copyOf(alive, length);
+      inserted                   = Arrays.copyOf(inserted, length);
+    }
+    x[pages]                          = new int[PAGE_SIZE];
+    y[pages]                          = new int[PAGE_SIZE];
+    vision[pages]                     = new int[PAGE_SIZE];
+    trailSize[pages]                  = new int[PAGE_SIZE];
+    offspring[pages]                  = new int[PAGE_SIZE];
+    oppositeRandomStep[pages]         = new int[PAGE_SIZE];
+    lastRandomStep[pages]             = new int[PAGE_SIZE];
+    deathTick[pages]                  = new int[PAGE_SIZE];
+    foodX[pages]                      = new int[PAGE_SIZE];
+    foodY[pages]                      = new int[PAGE_SIZE];
+    pathX[pages]                      = new int[PAGE_SIZE];
+    pathY[pages]                      = new int[PAGE_SIZE];
+    sleepFrom[pages]                  = new int[PAGE_SIZE];
+    sleepUntil[pages]                 = new int[PAGE_SIZE];
+    energy[pages]                     = new double[PAGE_SIZE];
+    speed[pages]                      = new double[PAGE_SIZE];
+    efficiency[pages]                 = new double[PAGE_SIZE];
+    biteSize[pages]                   = new double[PAGE_SIZE];
+    mutationStepSizeMultiplier[pages] = new double[PAGE_SIZE];
+    breed[pages]                      = new byte[PAGE_SIZE];
+    alive[pages]                      = new boolean[PAGE_SIZE];
+    inserted[pages]                   = new boolean[PAGE_SIZE];
+    pages++;
+  }
+
+  /**
+   * @return the running statistics of the {@link Trait}s of the live members of the provided {@link Breed}
+   */
+  public BreedStatistics getStatistics(Breed breed) {
+    return statistics[breed.ordinal()];
+  }
+
+  // Accessors used by Cell, one pair per column.
+
+  int getX(int row)                                { return x[row >>> PAGE_BITS][row & PAGE_MASK]; }
+  void setX(int row, int value)                    { move(row, x, value); }
+  int getY(int row)                                { return y[row >>> PAGE_BITS][row & PAGE_MASK]; }
+  void setY(int row, int value)                    { move(row, y, value); }
+  int getVision(int row)                           { return vision[row >>> PAGE_BITS][row & PAGE_MASK]; }
+  int getTrailSize(int row)                        { return trailSize[row >>> PAGE_BITS][row & PAGE_MASK]; }
+  void setTrailSize(int row, int value)            { trailSize[row >>> PAGE_BITS][row & PAGE_MASK] = value; }
+  int getOffspring(int row)                        { return offspring[row >>> PAGE_BITS][row & PAGE_MASK]; }
+  void setOffspring(int row, int value)            { offspring[row >>> PAGE_BITS][row & PAGE_MASK] = value; }
+  int getOppositeRandomStep(int row)               { return oppositeRandomStep[row >>> PAGE_BITS][row & PAGE_MASK]; }
+  void setOppositeRandomStep(int row, int value)   { oppositeRandomStep[row >>> PAGE_BITS][row & PAGE_MASK] = value; }
+  int getLastRandomStep(int row)                   { return lastRandomStep[row >>> PAGE_BITS][row & PAGE_MASK]; }
+  void setLastRandomStep(int row, int value)       { lastRandomStep[row >>> PAGE_BITS][row & PAGE_MASK] = value; }
+  int getDeathTick(int row)                        { return deathTick[row >>> PAGE_BITS][row & PAGE_MASK]; }
+  void setDeathTick(int row, int value)            { deathTick[row >>> PAGE_BITS][row & PAGE_MASK] = value; }
+  int getFoodX(int row)                            { return foodX[row >>> PAGE_BITS][row & PAGE_MASK]; }
+  void setFoodX(int row, int value)                { foodX[row >>> PAGE_BITS][row & PAGE_MASK] = value; }
+  int getFoodY(int row)                            { return foodY[row >>> PAGE_BITS][row & PAGE_MASK]; }
+  void setFoodY(int row, int value)                { foodY[row >>> PAGE_BITS][row & PAGE_MASK] = value; }
+  int getPathX(int row)                            { return pathX[row >>> PAGE_BITS][row & PAGE_MASK]; }
+  void setPathX(int row, int value)                { pathX[row >>> PAGE_BITS][row & PAGE_MASK] = value; }
+  int getPathY(int row)                            { return pathY[row >>> PAGE_BITS][row & PAGE_MASK]; }
+  void setPathY(int row, int value)                { pathY[row >>> PAGE_BITS][row & PAGE_MASK] = value; }
+  int getSleepFrom(int row)                        { return sleepFrom[row >>> PAGE_BITS][row & PAGE_MASK]; }
+  void setSleepFrom(int row, int value)            { sleepFrom[row >>> PAGE_BITS][row & PAGE_MASK] = value; }
+  int getSleepUntil(int row)                       { return sleepUntil[row >>> PAGE_BITS][row & PAGE_MASK]; }
+  void setSleepUntil(int row, int value)           { sleepUntil[row >>> PAGE_BITS][row & PAGE_MASK] = value; }
+  double getEnergy(int row)                        { return energy[row >>> PAGE_BITS][row & PAGE_MASK]; }
+  void setEnergy(int row, double value)            { energy[row >>> PAGE_BITS][row & PAGE_MASK] = value; }
+  double getSpeed(int row)                         { return speed[row >>> PAGE_BITS][row & PAGE_MASK]; }
+  double getEfficiency(int row)                    { return efficiency[row >>> PAGE_BITS][row & PAGE_MASK]; }
+  double getBiteSize(int row)                      { return biteSize[row >>> PAGE_BITS][row & PAGE_MASK]; }
+  double getMutationStepSizeMultiplier(int row)    { return mutationStepSizeMultiplier[row >>> PAGE_BITS][row & PAGE_MASK]; }
+  void setMutationStepSizeMultiplier(int row, double value) { mutationStepSizeMultiplier[row >>> PAGE_BITS][row & PAGE_MASK] = value; }
+  boolean isAlive(int row)                         { return alive[row >>> PAGE_BITS][row & PAGE_MASK]; }
+
+  // Setters which keep the counts up to date.
+  void setVision(int row, int value)               { setTrait(row, Trait.VISION, vision, value); }
+  void setEfficiency(int row, double value)        { setTrait(row, Trait.EFFICIENCY, efficiency, value); }
+  void setSpeed(int row, double value)             { setTrait(row, Trait.SPEED, speed, value); }
+  void setBiteSize(int row, double value)          { setTrait(row, Trait.BITE_SIZE, biteSize, value); }
+
+  void setAlive(int row, boolean value) {
+    int p = row >>> PAGE_BITS, i = row & PAGE_MASK;
+    if (alive[p][i] != value && inserted[p][i]) {
+      count(row, -1);
+      alive[p][i] = value;
+      count(row, 1);
+    }
+    else {
+      alive[p][i] = value;
+    }
+  }
+
+  void setInserted(int row, boolean value) {
+    int p = row >>> PAGE_BITS, i = row & PAGE_MASK;
+    if (inserted[p][i] != value) {
+      inserted[p][i] = value;
+      count(row, value ? 1 : -1);
+    }
+  }
+
+  private void setTrait(int row, Trait trait, int[][] column, int value) {
+    int p = row >>> PAGE_BITS, i = row & PAGE_MASK;
+    if (inserted[p][i] && alive[p][i]) {
+      statistics[breed[p][i]].replace(trait, column[p][i], value);
+    }
+    column[p][i] = value;
+  }
+
+  private void setTrait(int row, Trait trait, double[][] column, double value) {
+    int p = row >>> PAGE_BITS, i = row & PAGE_MASK;
+    if (inserted[p][i] && alive[p][i]) {
+      statistics[breed[p][i]].replace(trait, column[p][i], value);
+    }
+    column[p][i] = value;
+  }
+
+  private void move(int row, int[][] coordinate, int value) {
+    int p = row >>> PAGE_BITS, i = row & PAGE_MASK;
+    if (inserted[p][i] && coordinate[p][i] != value) {
+      countRegion(row, -1);
+      coordinate[p][i] = value;
+      countRegion(row, 1);
+    }
+    else {
+      coordinate[p][i] = value;
+    }
+  }
+}
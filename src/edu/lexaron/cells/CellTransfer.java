@@ -0,0 +1,160 @@
+package edu.lexaron.cells;
+
+import edu.lexaron.world.World;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+/**
+ * Moves {@link Cell}s between {@link World}s which simulate neighbouring parts of one larger world, such as the shards
+ * of {@link edu.lexaron.simulation.Shard}. A {@link Cell} is written with its {@link Breed}, identity, heritable traits
+ * and life cycle state, and read back as a new member of the same {@link Breed}, created with the written identity
+ * through {@link Breed#create}. Position, food and path are left to the caller, since they only make sense within one
+ * {@link World}.
+ * <p>
+ * Prototypes, see {@link #createPrototype}, and stand-ins, see {@link #placeGhost}, represent {@link Cell}s which only
+ * exist in another {@link World}. They are registered, so that the grid and trails can reference them, but are left out
+ * of the counts and {@link BreedStatistics} of the {@link CellTable}, which only cover the {@link Cell}s of its own
+ * {@link World}.
+ *
+ * Date: 17.10.2026.
+ */
+public final class CellTransfer {
+  private static final Breed[]     BREEDS     = Breed.values();
+  private static final Direction[] DIRECTIONS = Direction.values();
+
+  private CellTransfer() {}
+
+  /**
+   * Writes the provided {@link Cell}, everything but its position, food and path, see
+   * {@link #read(DataInput, World, int, int)}. Draws a seed for the copy's random stream from the {@link Cell}'s own.
+   *
+   * @param cell the {@link Cell} leaving its {@link World}
+   * @param out  where to write it
+   */
+  public static void write(Cell cell, DataOutput out) throws IOException {
+    CellTable table = cell.getTable();
+    int row = cell.getRow();
+    out.writeByte(cell.getBreed().ordinal());
+    out.writeUTF(cell.getGeneCode());
+    out.writeDouble(cell.getEnergy());
+    out.writeInt(cell.getVision());
+    out.writeDouble(cell.getSpeed());
+    out.writeDouble(cell.getEfficiency());
+    out.writeDouble(table.getBiteSize(row));
+    out.writeDouble(cell.getMutationStepSizeMultiplier());
+    out.writeInt(table.getTrailSize(row));
+    out.writeInt(cell.getOffspring());
+    out.writeInt(table.getOppositeRandomStep(row));
+    out.writeInt(table.getLastRandomStep(row));
+    out.writeByte(cell.getIdleDirection().ordinal());
+    out.writeLong(cell.getRandom().nextLong());
+  }
+
+  /**
+   * Reads a {@link Cell} written by {@link #write(Cell, DataOutput)}.
+   *
+   * @param in    where to read it from
+   * @param world the {@link World} the {@link Cell} enters
+   * @param x     where the {@link Cell} enters
+   * @param y     where the {@link Cell} enters
+   * @return the {@link Cell}, not yet inserted into the {@link World}
+   */
+  public static Cell read(DataInput in, World world, int x, int y) throws IOException {
+    Breed     breed              = BREEDS[in.readByte()];
+    String    geneCode           = in.readUTF();
+    double    energy             = in.readDouble();
+    int       vision             = in.readInt();
+    double    speed              = in.readDouble();
+    double    efficiency         = in.readDouble();
+    double    biteSize           = in.readDouble();
+    double    mutationMultiplier = in.readDouble();
+    int       trailSize          = in.readInt();
+    int       offspring          = in.readInt();
+    int       oppositeRandomStep = in.readInt();
+    int       lastRandomStep     = in.readInt();
+    Direction idleDirection      = DIRECTIONS[in.readByte()];
+    Cell cell = breed.create(geneCode, x, y, new SplittableRandom(in.readLong()), world.getCellTable());
+
+    CellTable table = cell.getTable();
+    int row = cell.getRow();
+    table.setEnergy(row, energy);
+    table.setVision(row, vision);
+    table.setSpeed(row, speed);
+    table.setEfficiency(row, efficiency);
+    table.setBiteSize(row, biteSize);
+    table.setMutationStepSizeMultiplier(row, mutationMultiplier);
+    table.setTrailSize(row, trailSize);
+    table.setOffspring(row, offspring);
+    table.setOppositeRandomStep(row, oppositeRandomStep);
+    table.setLastRandomStep(row, lastRandomStep);
+    table.setAlive(row, energy > 0.0);
+    cell.setIdleDirection(idleDirection);
+    return cell;
+  }
+
+  /**
+   * Creates a default member of the provided {@link Breed} which stands for it wherever a {@link Cell} of another
+   * {@link World} has to be referenced, such as the source of a trail. It is never placed on the grid.
+   *
+   * @param world where the prototype is registered
+   * @param breed the {@link Breed} of the prototype
+   * @return the prototype, registered but not counted
+   */
+  public static Cell createPrototype(World world, Breed breed) {
+    Cell prototype = breed.spawn(world);
+    registerUncounted(world, prototype);
+    return prototype;
+  }
+
+  /**
+   * Places a default member of the prototype's {@link Breed} onto a tile, in place of a {@link Cell} or corpse which
+   * lives in another {@link World}. The stand-in is registered but not counted, and not stored among the {@link Cell}s
+   * of the {@link World}, so it never lives; place corpses before live stand-ins, as a corpse vacates its tile.
+   *
+   * @param world     where the stand-in is placed
+   * @param prototype a {@link Cell} of the {@link Breed} to stand in for
+   * @param x
+   * @param y
+   * @param alive     whether the stand-in is a live {@link Cell} or a corpse
+   * @return the stand-in, to be moved with {@link #moveGhost} or released by the caller once it is no longer needed
+   */
+  public static Cell placeGhost(World world, Cell prototype, int x, int y, boolean alive) {
+    Cell ghost = prototype.doGiveBirth(x, y, prototype.getRandom().split());
+    registerUncounted(world, ghost);
+    if (alive) {
+      world.setCell(x, y, ghost);
+    }
+    else {
+      ghost.die(world);
+    }
+    return ghost;
+  }
+
+  /**
+   * Places a stand-in, which the caller took off the grid, onto another tile, as a live {@link Cell} or as a corpse
+   * depending on whether or not it is still alive. Reusing stand-ins spares creating and registering new ones.
+   *
+   * @param world where the stand-in is placed
+   * @param ghost a stand-in placed by {@link #placeGhost}
+   * @param x
+   * @param y
+   */
+  public static void moveGhost(World world, Cell ghost, int x, int y) {
+    ghost.setX(x);
+    ghost.setY(y);
+    if (ghost.isAlive()) {
+      world.setCell(x, y, ghost);
+    }
+    else {
+      world.setDeadCell(x, y, ghost);
+    }
+  }
+
+  private static void registerUncounted(World world, Cell cell) {
+    world.register(cell);
+    cell.getTable().setInserted(cell.getRow(), false);
+  }
+}
@@ -1,9 +1,9 @@
 package edu.lexaron.cells;
 
-import edu.lexaron.world.Location;
-import edu.lexaron.world.Sugar;
 import edu.lexaron.world.World;
 
+import java.util.SplittableRandom;
+
 /**
  * Author: Mirza <mirza.suljic.ba@gmail.com>
  * Date: 23.4.2018.
@@ -19,10 +19,12 @@ abstract class Herbivorous extends Cell {
    * @param id         unique {@link Breed} ID
    * @param x          horizontal coordinate of birth location
    * @param y          vertical coordinate of birth location
+   * @param random     this {@link Cell}'s own random stream
+   * @param table      where the state of this {@link Cell} is stored
    */
   @SuppressWarnings ("MagicNumber")
-  Herbivorous(String id, int x, int y, double energy, int vision, double speed, double efficiency, double biteSize, double mutationStepSizeMultiplier) {
-    super(id, x, y, energy, vision, speed, efficiency, biteSize, mutationStepSizeMultiplier);
+  Herbivorous(String id, int x, int y, double energy, int vision, double speed, double efficiency, double biteSize, double mutationStepSizeMultiplier, SplittableRandom random, CellTable table) {
+    super(id, x, y, energy, vision, speed, efficiency, biteSize, mutationStepSizeMultiplier, random, table);
     this.behaviour = Behaviour.NEUTRAL;
   }
 
@@ -43,9 +45,9 @@ abstract class Herbivorous extends Cell {
 
   @Override
   public void doHunt(World world) {
-    if (getPath().isEmpty()) {
-      if (getFood() == null) {
-        lookForFood(world);
+    if (!hasPath()) {
+      if (!hasFood()) {
+        searchForFood(world);
       }
       else {
         eat(world);
@@ -54,14 +56,14 @@ abstract class Herbivorous extends Cell {
     else {
       useWholePath(world);
     }
-    if (getFood() == null) randomStep(world);
+    if (!hasFood()) randomStep(world);
   }
 
   @Override
   public void eat(World w) {
-    Sugar prey = w.getWorld()[getY()][getX()].getSugar();
-    if (prey.getAmount() > 0.0) {
-      prey.setAmount(prey.getAmount() - getBiteSize());
+    double prey = w.getSugar(getX(), getY());
+    if (prey > 0.0) {
+      w.setSugar(getX(), getY(), prey - getBiteSize());
       setEnergy(getEnergy() + getBiteSize());
     }
     else {
@@ -70,26 +72,13 @@ abstract class Herbivorous extends Cell {
   }
 
   private void findThisBreed(World world){
-    boolean found = false;
-        outterloop:
-    for (int v = 0; v <= getVision(); v++) {
-      for (int i = (getY() - v); i <= (getY() + v); i++) {
-        for (int j = (getX() - v); j <= (getX() + v); j++) {
-          if (isValidLocation(world, j, i)) {
-            Cell c = world.getWorld()[i][j].getCell();
-            if (c != null && c.isAlive() && c.getBreed() == getBreed()){
-              findPathTo(new Location(i, j));
-              found = true;
-              break outterloop;
-            }
-          }
-        }
-      }
+    Cell c = world.findClosestCellOf(getX(), getY(), getVision(), getBreed());
+    if (c != null) {
+      findPathTo(c.getX(), c.getY());
     }
-    if (!found) {
+    else {
       shuffleIdleDirection();
     }
   }
 
 }
-
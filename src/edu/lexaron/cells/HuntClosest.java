@@ -1,11 +1,14 @@
 package edu.lexaron.cells;
 
-import edu.lexaron.world.Sugar;
+import edu.lexaron.world.Instruments;
 import edu.lexaron.world.World;
-import javafx.scene.image.Image;
+
+import java.util.SplittableRandom;
 
 /**
- * A {@link Herbivorous} {@link Cell}, feeds on the closest {@link Sugar} it can find.
+ * A {@link Herbivorous} {@link Cell}, feeds on the closest sugar it can find, looking across the edges of the
+ * {@link World} as well.
+ * It sees no farther than {@link World#FLOW_RADIUS} steps, whatever its vision, see {@link #getFlowVision()}.
  *
  * Project name: CellSIM/HuntClosest.java
  * Author & email: Mirza Suljić <mirza.suljic.ba@gmail.com>
@@ -13,10 +16,9 @@ import javafx.scene.image.Image;
  * Refactored: 24.04.2018
  */
 public class HuntClosest extends Herbivorous {
-  private static final Image GFX = new Image("edu/lexaron/gfx/huntClosest.png");
 
-  private HuntClosest(String id, int x, int y) {
-    super(id, x, y, 50.0, 3, 1.0, 1.0, 1.0, 1.05);
+  HuntClosest(String id, int x, int y, SplittableRandom random, CellTable table) {
+    super(id, x, y, 50.0, 3, 1.0, 1.0, 1.0, 1.05, random, table);
   }
 
   /**
@@ -25,12 +27,7 @@ public class HuntClosest extends Herbivorous {
    * @param world where the {@link HuntClosest} is to be created
    */
   public HuntClosest(World world) {
-    this("C", getRandom().nextInt(world.getWidth()), getRandom().nextInt(world.getHeight()));
-  }
-
-  @Override
-  public Image getImage() {
-    return GFX;
+    this("C", world.getRandom().nextInt(world.getWidth()), world.getRandom().nextInt(world.getHeight()), world.getRandom().split(), world.getCellTable());
   }
 
   @Override
@@ -39,24 +36,60 @@ public class HuntClosest extends Herbivorous {
   }
 
   @Override
-  Cell doGiveBirth(int x, int y) {
-    return new HuntClosest(getGeneCode() + getOffspring(), x, y);
+  Cell doGiveBirth(int x, int y, SplittableRandom random) {
+    return new HuntClosest(getGeneCode() + getOffspring(), x, y, random, getTable());
   }
 
+  /**
+   * Walks down the {@link World}'s shared sugar flow field, one lookup per step, rather than planning a path of its
+   * own. Sugar counts as in sight if it is at most {@link #getFlowVision()} steps away.
+   */
   @Override
-  public void lookForFood(World w) {
-        outterloop:
-    for (int v = 0; v <= getVision(); v++) {
-      for (int i = (getY() - v); i <= (getY() + v); i++) {
-        for (int j = (getX() - v); j <= (getX() + v); j++) {
-          if (isValidLocation(w, j, i) && w.getWorld()[i][j].getSugar().getAmount() > 0.0) {
-            setFood(j, i);
-            findPathTo(getFood());
-            break outterloop;
-          }
+  public void doHunt(World world) {
+    int distance = world.getSugarFlowDistance(getX(), getY());
+    if (distance == 0) {
+      setFood(getX(), getY());
+      eat(world);
+    }
+    else if (isInSight(distance)) {
+      int steps = 0;
+      for (int i = 0; i < getSpeed(); i++) {
+        Direction step = world.findSugarFlowStep(getX(), getY());
+        if (step == null) {
+          break;
         }
+        move(world, step);
+        steps++;
       }
+      Instruments.countPathSteps(getBreed(), steps);
+      searchForFood(world);
+    }
+    else {
+      resetFoodAndPath();
+      randomStep(world);
+    }
+  }
+
+  @Override
+  public void lookForFood(World w) {
+    resetFoodAndPath();
+    int tile = w.getSugarFlowTarget(getX(), getY());
+    if (tile != World.NO_TILE && isInSight(w.getSugarFlowDistance(getX(), getY()))) {
+      setFood(tile % w.getWidth(), tile / w.getWidth());
     }
   }
-}
 
+  /**
+   * The flow field only measures distances up to {@link World#FLOW_RADIUS}, so a {@link HuntClosest} sees no farther,
+   * however far its {@link #getVision()} has grown.
+   *
+   * @return the number of steps within which sugar counts as in sight
+   */
+  int getFlowVision() {
+    return Math.min(getVision(), World.FLOW_RADIUS);
+  }
+
+  private boolean isInSight(int distance) {
+    return distance != World.UNREACHED && distance <= getFlowVision();
+  }
+}
@@ -5,12 +5,12 @@
  */
 package edu.lexaron.cells;
 
-import edu.lexaron.world.Sugar;
 import edu.lexaron.world.World;
-import javafx.scene.image.Image;
+
+import java.util.SplittableRandom;
 
 /**
- * A {@link Herbivorous} {@link Cell}, feeds on the first {@link Sugar} it sees.
+ * A {@link Herbivorous} {@link Cell}, feeds on the first sugar it sees.
  *
  * Project name: CellSIM/cell_max.java
  * Author & email: Mirza Suljić <mirza.suljic.ba@gmail.com>
@@ -18,10 +18,9 @@ import javafx.scene.image.Image;
  * Refactored: 24.04.2018
  */
 public class HuntFirst extends Herbivorous {
-  private static final Image GFX = new Image("edu/lexaron/gfx/huntFirst.png");
 
-  private HuntFirst(String id, int x, int y) {
-    super(id, x, y, 50.0, 3, 1.0, 1.0, 1.0, 1.05);
+  HuntFirst(String id, int x, int y, SplittableRandom random, CellTable table) {
+    super(id, x, y, 50.0, 3, 1.0, 1.0, 1.0, 1.05, random, table);
   }
 
   /**
@@ -30,12 +29,7 @@ public class HuntFirst extends Herbivorous {
    * @param world where the {@link HuntFirst} is to be created
    */
   public HuntFirst(World world) {
-    this("F", getRandom().nextInt(world.getWidth()), getRandom().nextInt(world.getHeight()));
-  }
-
-  @Override
-  public Image getImage() {
-    return GFX;
+    this("F", world.getRandom().nextInt(world.getWidth()), world.getRandom().nextInt(world.getHeight()), world.getRandom().split(), world.getCellTable());
   }
 
   @Override
@@ -44,22 +38,16 @@ public class HuntFirst extends Herbivorous {
   }
 
   @Override
-  Cell doGiveBirth(int x, int y) {
-    return new HuntFirst(getGeneCode() + getOffspring(), x, y);
+  Cell doGiveBirth(int x, int y, SplittableRandom random) {
+    return new HuntFirst(getGeneCode() + getOffspring(), x, y, random, getTable());
   }
 
   @Override
   public void lookForFood(World w) {
-        loop:
-    for (int i = getY() + getVision(); i >= (getY() - getVision()); i--) {
-      for (int j = getX() - getVision(); j <= (getX() + getVision()); j++) {
-        if (isValidLocation(w, j, i) && w.getWorld()[i][j].getSugar().getAmount() > 0.0) {
-          setFood(j, i);
-          findPathTo(getFood());
-          break loop;
-        }
-      }
+    int tile = w.findSugarFromLastRow(getX(), getY(), getVision());
+    if (tile != World.NO_TILE) {
+      setFood(tile % w.getWidth(), tile / w.getWidth());
+      findPathToFood();
     }
   }
-  }
-
+}
@@ -1,11 +1,11 @@
 package edu.lexaron.cells;
 
-import edu.lexaron.world.Sugar;
 import edu.lexaron.world.World;
-import javafx.scene.image.Image;
+
+import java.util.SplittableRandom;
 
 /**
- * A {@link Herbivorous} {@link Cell}, feeds on the largest {@link Sugar} it can find.
+ * A {@link Herbivorous} {@link Cell}, feeds on the largest sugar it can find.
  *
  * Project name: CellSIM/HuntMax.java
  * Author & email: Mirza Suljić <mirza.suljic.ba@gmail.com>
@@ -14,11 +14,9 @@ import javafx.scene.image.Image;
  */
 public class HuntMax extends Herbivorous {
 
-  private static final Image GFX = new Image("edu/lexaron/gfx/huntMax.png");
-
-  private HuntMax(String id, int x, int y)
+  HuntMax(String id, int x, int y, SplittableRandom random, CellTable table)
   {
-    super(id, x, y, 50.0, 3, 1.0, 1.0, 1.0, 1.05);
+    super(id, x, y, 50.0, 3, 1.0, 1.0, 1.0, 1.05, random, table);
   }
 
   /**
@@ -27,12 +25,7 @@ public class HuntMax extends Herbivorous {
    * @param world where the {@link HuntMax} is to be created
    */
   public HuntMax(World world) {
-    this("L", getRandom().nextInt(world.getWidth()), getRandom().nextInt(world.getHeight()));
-  }
-
-  @Override
-  public Image getImage() {
-    return GFX;
+    this("L", world.getRandom().nextInt(world.getWidth()), world.getRandom().nextInt(world.getHeight()), world.getRandom().split(), world.getCellTable());
   }
 
   @Override
@@ -41,23 +34,16 @@ public class HuntMax extends Herbivorous {
   }
 
   @Override
-  Cell doGiveBirth(int x, int y) {
-    return new HuntMax(getGeneCode() + getOffspring(), x, y);
+  Cell doGiveBirth(int x, int y, SplittableRandom random) {
+    return new HuntMax(getGeneCode() + getOffspring(), x, y, random, getTable());
   }
 
   @Override
   public void lookForFood(World w) {
-    double foundSugar = 0.0;
-    for (int v = getVision(); v > 0; v--) {
-      for (int i = getY() - v; i <= (getY() + v); i++) {
-        for (int j = getX() - v; j <= (getX() + v); j++) {
-          if (isValidLocation(w, j, i) && w.getWorld()[i][j].getSugar().getAmount() > foundSugar) {
-            foundSugar = w.getWorld()[i][j].getSugar().getAmount();
-            setFood(j, i);
-          }
-        }
-      }
+    int tile = getVision() > 0 ? w.findMostSugar(getX(), getY(), getVision()) : World.NO_TILE;
+    if (tile != World.NO_TILE) {
+      setFood(tile % w.getWidth(), tile / w.getWidth());
     }
-    findPathTo(getFood());
+    findPathToFood();
   }
 }
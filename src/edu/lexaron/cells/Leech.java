@@ -1,7 +1,8 @@
 package edu.lexaron.cells;
 
 import edu.lexaron.world.World;
-import javafx.scene.image.Image;
+
+import java.util.SplittableRandom;
 
 /**
  * {@link Leech} are a kind of {@link Carnivorous} {@link Cell} that follows it's prey
@@ -14,10 +15,9 @@ import javafx.scene.image.Image;
  */
 @SuppressWarnings ("MagicNumber")
 public class Leech extends Carnivorous {
-  private static final Image GFX = new Image("edu/lexaron/gfx/leech.png");
 
-  private Leech(String ID, int x, int y) {
-    super(ID, x, y, 50.0, 5, 3, 0.20,  2.5, 1.05);
+  Leech(String ID, int x, int y, SplittableRandom random, CellTable table) {
+    super(ID, x, y, 50.0, 5, 3, 0.20,  2.5, 1.05, random, table);
   }
 
   /**
@@ -26,12 +26,7 @@ public class Leech extends Carnivorous {
    * @param world where the {@link Leech} is to be created
    */
   public Leech(World world) {
-    this("L", getRandom().nextInt(world.getWidth()), getRandom().nextInt(world.getHeight()));
-  }
-
-  @Override
-  public Image getImage() {
-    return GFX;
+    this("L", world.getRandom().nextInt(world.getWidth()), world.getRandom().nextInt(world.getHeight()), world.getRandom().split(), world.getCellTable());
   }
 
   @Override
@@ -40,8 +35,8 @@ public class Leech extends Carnivorous {
   }
 
   @Override
-  Cell doGiveBirth(int x, int y) {
-    return new Leech(getGeneCode() + getOffspring(), x, y);
+  Cell doGiveBirth(int x, int y, SplittableRandom random) {
+    return new Leech(getGeneCode() + getOffspring(), x, y, random, getTable());
   }
 
   @Override
@@ -51,20 +46,20 @@ public class Leech extends Carnivorous {
 
   @Override
   public void eat(World world) {
-    if (getFood() != null && world.getWorld()[getFood().getY()][getFood().getX()].getCell() != null) {
-      Cell hostCell = world.getWorld()[getFood().getY()][getFood().getX()].getCell();
+    if (hasFood() && world.getCell(getFoodX(), getFoodY()) != null) {
+      Cell hostCell = world.getCell(getFoodX(), getFoodY());
       if (isValidPrey(hostCell)) {
+        hostCell.settle(world);
         hostCell.setEnergy(hostCell.getEnergy() - getBiteSize());
         setEnergy(getEnergy() + getBiteSize());
         if (hostCell.getEnergy() < 0) {
           hostCell.die(world);
-          world.getWorld()[getFood().getY()][getFood().getX()].setDeadCell(hostCell);
-          world.getWorld()[getFood().getY()][getFood().getX()].setCell(null);
+          world.setDeadCell(getFoodX(), getFoodY(), hostCell);
+          world.setCell(getFoodX(), getFoodY(), null);
         }
       }
     }
     else {
-      getPath().clear();
       resetFoodAndPath();
     }
 
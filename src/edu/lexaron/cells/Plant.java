@@ -1,12 +1,13 @@
 package edu.lexaron.cells;
 
 import edu.lexaron.world.Location;
-import edu.lexaron.world.Sugar;
 import edu.lexaron.world.World;
 
+import java.util.SplittableRandom;
+
 /**
- * {@link Plant}s are {@link Cell} that feed on {@link Sugar}.
- * They cannot use the {@link Cell#move(World, Direction)} method, but they can generate {@link Sugar} in their FoV.
+ * {@link Plant}s are {@link Cell} that feed on sugar.
+ * They cannot use the {@link Cell#move(World, Direction)} method, but they can generate sugar in their FoV.
  *
  * Author: Mirza <mirza.suljic.ba@gmail.com>
  * Date: 24.4.2018.
@@ -24,12 +25,19 @@ abstract class Plant extends Cell {
    * @param y          vertical coordinate of birth location
    * @param energy     initial energy level, usually 50
    * @param vision     initial vision range, determines the FoV
-   * @param speed      initial speed, determines how fast the {@link Cell} uses it's {@link Cell#path}
+   * @param speed      initial speed, determines how fast the {@link Cell} uses its planned path
    * @param efficiency initial efficiency, determines how much energy a {@link Cell} expends for each action it takes
    * @param biteSize   initial size of bite, determines how fast the {@link Cell} consumes it's food source
+   * @param random     this {@link Cell}'s own random stream
+   * @param table      where the state of this {@link Cell} is stored
    */
-  Plant(String id, int x, int y, double energy, int vision, double speed, double efficiency, double biteSize, double mutationStepSizeMultiplier) {
-    super(id, x, y, energy, vision, speed, efficiency, biteSize, mutationStepSizeMultiplier);
+  Plant(String id, int x, int y, double energy, int vision, double speed, double efficiency, double biteSize, double mutationStepSizeMultiplier, SplittableRandom random, CellTable table) {
+    super(id, x, y, energy, vision, speed, efficiency, biteSize, mutationStepSizeMultiplier, random, table);
+  }
+
+  @Override
+  public int getReach() {
+    return getVision() * VISION_MODIFIER + REACH_MARGIN;
   }
 
   @SuppressWarnings ("MethodDoesntCallSuperMethod")
@@ -44,16 +52,93 @@ abstract class Plant extends Cell {
     int rx = getRandom().nextInt(((getX() + getVision()) - (getX() - getVision())) + 1) + (getX() - getVision());
     int ry = getRandom().nextInt(((getY() + getVision()) - (getY() - getVision())) + 1) + (getY() - getVision());
     if (isValidLocation(world, rx, ry)) {
-      if (world.getWorld()[ry][rx].getSugar().getAmount() > 0.0) {
+      if (world.getSugar(rx, ry) > 0.0) {
         setFood(rx, ry);
       }
-      else if (world.getWorld()[ry][rx].getCell() != null && world.getWorld()[ry][rx].getCell().getBreed() == getBreed()) {
+      else if (world.getCell(rx, ry) != null && world.getCell(rx, ry).getBreed() == getBreed()) {
         setFood(rx, ry);
       }
       else if (getRandom().nextInt(3) == 2) {
-        world.getWorld()[ry][rx].getSugar().setAmount(GENERATED_FOOD_AMOUNT);
+        world.setSugar(rx, ry, GENERATED_FOOD_AMOUNT);
+      }
+    }
+  }
+
+  /**
+   * A {@link Plant} is quiet while every bite it takes finds sugar on its food tile and it stays too weak to divide.
+   */
+  @Override
+  public int countQuietTicks(World world, int limit) {
+    if (!isAlive() || !hasFood() || getOffspring() >= world.getRules().getOffspringLimit()) {
+      return 0;
+    }
+    double sugar = world.getSugar(getFoodX(), getFoodY()), energy = getEnergy();
+    int quiet = 0;
+    while (quiet < limit) {
+      for (int i = 0; (double) i < getSpeed(); i++) {
+        if (sugar <= 0.0) {
+          return quiet;
+        }
+        sugar = Math.max(0.0, sugar - getBiteSize());
+        energy += getBiteSize();
+      }
+      if (energy >= world.getRules().getBirthRequirement()) {
+        return quiet;
+      }
+      quiet++;
+    }
+    return quiet;
+  }
+
+  /**
+   * Sleeps while watching its food tile, any change to the sugar on it wakes the {@link Plant}. Only one {@link Plant}
+   * can watch a tile.
+   */
+  @Override
+  public boolean sleep(World world, int ticks) {
+    if (world.watchSugar(getFoodX(), getFoodY(), this)) {
+      fallAsleep(world, ticks);
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Takes all bites of the skipped ticks at once, stopping early if the sugar ran out in the meantime. A {@link Plant}
+   * that sleeps on keeps watching its food tile.
+   */
+  @Override
+  void catchUp(World world, int ticks) {
+    world.unwatchSugar(getFoodX(), getFoodY(), this);
+    double sugar = world.getSugar(getFoodX(), getFoodY());
+    int bites = countBites(sugar, ticks);
+    world.setSugar(getFoodX(), getFoodY(), Math.max(0.0, sugar - bites * getBiteSize()));
+    setSleptEnergy(getEnergy() + bites * getBiteSize());
+    if (isAsleep(world.getTick())) {
+      world.watchSugar(getFoodX(), getFoodY(), this);
+    }
+  }
+
+  @Override
+  double getEnergyAfter(World world, int ticks) {
+    return getEnergy() + countBites(world.getSugar(getFoodX(), getFoodY()), ticks) * getBiteSize();
+  }
+
+  /**
+   * @return the number of bites taken from the provided sugar during the provided number of ticks
+   */
+  private int countBites(double sugar, int ticks) {
+    int bites = 0;
+    for (int t = 0; t < ticks; t++) {
+      for (int i = 0; (double) i < getSpeed(); i++) {
+        if (sugar <= 0.0) {
+          return bites;
+        }
+        sugar = Math.max(0.0, sugar - getBiteSize());
+        bites++;
       }
     }
+    return bites;
   }
 
   @SuppressWarnings ("MethodDoesntCallSuperMethod")
@@ -66,7 +151,7 @@ abstract class Plant extends Cell {
       int rx = getRandom().nextInt(((getX() + (getVision() * VISION_MODIFIER)) - (getX() - getVision())) + 1) + (getX() - (getVision() * VISION_MODIFIER));
       int ry = getRandom().nextInt(((getY() + (getVision() * VISION_MODIFIER)) - (getY() - getVision())) + 1) + (getY() - (getVision() * VISION_MODIFIER));
       if (!(ry < 0 || rx < 0 || ry >= w.getHeight() || rx >= w.getWidth())) {
-        if (w.getWorld()[ry][rx].getCell() == null && w.getWorld()[ry][rx].getDeadCell() == null) {
+        if (w.getCell(rx, ry) == null && w.getDeadCell(rx, ry) == null) {
           birthplace = new Location(rx, ry);
           found = true;
         }
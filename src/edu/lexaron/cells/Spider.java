@@ -1,11 +1,11 @@
 package edu.lexaron.cells;
 
-import edu.lexaron.world.Trail;
 import edu.lexaron.world.World;
-import javafx.scene.image.Image;
+
+import java.util.SplittableRandom;
 
 /**
- * {@link Spider} are {@link Carnivorous} {@link Cell}s hunt other non-{@link Spider} cells. They can also utilize {@link Trail}s
+ * {@link Spider} are {@link Carnivorous} {@link Cell}s hunt other non-{@link Spider} cells. They can also utilize trails
  *  left by other cells to track them down.
  *
  * Project name: CellSIM/Spider.java
@@ -15,10 +15,9 @@ import javafx.scene.image.Image;
  */
 @SuppressWarnings ("MagicNumber")
 public class Spider extends Carnivorous {
-  private static final Image GFX = new Image("edu/lexaron/gfx/predator.png");
 
-  private Spider(String id, int x, int y) {
-    super(id, x, y, 50.0, 5, 1, 0.33, 1, 1.05);
+  Spider(String id, int x, int y, SplittableRandom random, CellTable table) {
+    super(id, x, y, 50.0, 5, 1, 0.33, 1, 1.05, random, table);
   }
 
   /**
@@ -27,12 +26,7 @@ public class Spider extends Carnivorous {
    * @param world where the {@link Spider} is to be created
    */
   public Spider(World world) {
-    this("S", getRandom().nextInt(world.getWidth()), getRandom().nextInt(world.getHeight()));
-  }
-
-  @Override
-  public Image getImage() {
-    return GFX;
+    this("S", world.getRandom().nextInt(world.getWidth()), world.getRandom().nextInt(world.getHeight()), world.getRandom().split(), world.getCellTable());
   }
 
   @Override
@@ -41,8 +35,8 @@ public class Spider extends Carnivorous {
   }
 
   @Override
-  Cell doGiveBirth(int x, int y) {
-    return new Spider(getGeneCode() + getOffspring(), x, y);
+  Cell doGiveBirth(int x, int y, SplittableRandom random) {
+    return new Spider(getGeneCode() + getOffspring(), x, y, random, getTable());
   }
 
   @Override
@@ -51,8 +45,9 @@ public class Spider extends Carnivorous {
     for (int y = getY() - 1; y <= (getY() + 1); y++) {
       for (int x = getX() - 1; x <= (getX() + 1); x++) {
         if (isValidLocation(world, x, y)) {
-          Cell prey = world.getWorld()[y][x].getCell();
+          Cell prey = world.getCell(x, y);
           if (isValidPrey(prey)){
+            prey.settle(world);
             prey.setEnergy(prey.getEnergy() / 2.0);
             setEnergy(getEnergy() + (prey.getEnergy() / 2.0));
             prey.die(world);
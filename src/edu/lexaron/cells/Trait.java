@@ -0,0 +1,13 @@
+package edu.lexaron.cells;
+
+/**
+ * The heritable traits of a {@link Cell} which mutate when it is born, see {@link BreedStatistics}.
+ *
+ * Date: 17.10.2026.
+ */
+public enum Trait {
+  VISION,
+  EFFICIENCY,
+  SPEED,
+  BITE_SIZE
+}
@@ -0,0 +1,112 @@
+package edu.lexaron.cells;
+
+import java.util.Arrays;
+
+/**
+ * Distribution of one {@link Trait} over the live members of a {@link Breed}, kept in a fixed number of buckets whose
+ * bounds grow geometrically by {@link #RELATIVE_ACCURACY}. A quantile is answered with the mean of the values in its
+ * bucket, so within {@link #RELATIVE_ACCURACY} of the exact value, whatever the number of values, and exactly when the
+ * bucket holds a single distinct value, as it does for unmutated {@link Cell}s. Unlike sampling sketches, the buckets
+ * let a value be removed as exactly as it was added, which is what a {@link Cell} that dies or mutates needs.
+ * <p>
+ * {@link Trait}s are positive; values outside {@link #MIN_VALUE} and {@link #MAX_VALUE} are counted in the first or
+ * last bucket.
+ *
+ * Date: 17.10.2026.
+ */
+public final class TraitSketch {
+  public static final double RELATIVE_ACCURACY = 0.01;
+  public static final double MIN_VALUE = 1.0e-3;
+  public static final double MAX_VALUE = 1.0e6;
+
+  private static final double LOG_GAMMA = Math.log(1.0 + RELATIVE_ACCURACY);
+  private static final int    MIN_INDEX = (int) Math.ceil(Math.log(MIN_VALUE) / LOG_GAMMA);
+  private static final int    MAX_INDEX = (int) Math.ceil(Math.log(MAX_VALUE) / LOG_GAMMA);
+
+  private final int[]    counts;
+  private final double[] sums;
+  private int            total;
+
+  TraitSketch() {
+    this(new int[MAX_INDEX - MIN_INDEX + 1], new double[MAX_INDEX - MIN_INDEX + 1], 0);
+  }
+
+  private TraitSketch(int[] counts, double[] sums, int total) {
+    this.counts = counts;
+    this.sums   = sums;
+    this.total  = total;
+  }
+
+  TraitSketch copy() {
+    return new TraitSketch(Arrays.copyOf(counts, counts.length), Arrays.copyOf(sums, sums.length), total);
+  }
+
+  /**
+   * Adds a value, or removes it with a negative sign.
+   */
+  void add(double value, int sign) {
+    int bucket = bucket(value);
+    counts[bucket] += sign;
+    sums[bucket]   += sign * value;
+    total += sign;
+  }
+
+  /**
+   * @return the number of values
+   */
+  public int getCount() {
+    return total;
+  }
+
+  /**
+   * @param quantile between 0 and 1, 0.5 being the median
+   * @return the value at the quantile, within {@link #RELATIVE_ACCURACY} of it, or zero if there are no values
+   */
+  public double getQuantile(double quantile) {
+    if (total <= 0) {
+      return 0.0;
+    }
+    long rank = (long) (Math.max(0.0, Math.min(1.0, quantile)) * (total - 1));
+    long seen = 0;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen > rank) {
+        return valueOf(i);
+      }
+    }
+    throw new IllegalStateException("Counted " + seen + " of " + total + " values");
+  }
+
+  /**
+   * Spreads the values over equally wide bins. Each bucket falls entirely into the bin of the mean of its values;
+   * values outside the range are left out.
+   *
+   * @param from lower bound of the first bin
+   * @param to   upper bound of the last bin
+   * @param bins number of bins
+   * @return the number of values per bin
+   */
+  public int[] getHistogram(double from, double to, int bins) {
+    int[] histogram = new int[bins];
+    double width = (to - from) / bins;
+    for (int i = 0; i < counts.length; i++) {
+      if (counts[i] != 0) {
+        double value = valueOf(i);
+        if (value >= from && value <= to) {
+          histogram[Math.min(bins - 1, (int) ((value - from) / width))] += counts[i];
+        }
+      }
+    }
+    return histogram;
+  }
+
+  private static int bucket(double value) {
+    double clamped = Math.max(MIN_VALUE, Math.min(MAX_VALUE, value));
+    return Math.max(0, Math.min(MAX_INDEX - MIN_INDEX, (int) Math.ceil(Math.log(clamped) / LOG_GAMMA) - MIN_INDEX));
+  }
+
+  // the values of a bucket are within RELATIVE_ACCURACY of one another, so of their mean
+  private double valueOf(int bucket) {
+    return sums[bucket] / counts[bucket];
+  }
+}
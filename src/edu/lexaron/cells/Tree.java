@@ -1,15 +1,12 @@
 package edu.lexaron.cells;
 
-import edu.lexaron.world.Sugar;
-import edu.lexaron.world.Tile;
 import edu.lexaron.world.World;
-import javafx.scene.image.Image;
 
-import java.util.ArrayList;
+import java.util.SplittableRandom;
 
 /**
  * A {@link Tree} is a {@link Cell} subclass that cannot move. However, they can generate small amounts of food within
- * their FoV when they look at an empty {@link edu.lexaron.world.Tile}. This makes it possible for the {@link Tree}s
+ * their FoV when they look at an empty tile. This makes it possible for the {@link Tree}s
  * to support each other, thus turning them into a forest.
  *
  * Project name: CellSIM/Tree.java
@@ -18,7 +15,6 @@ import java.util.ArrayList;
  * Refactored: 24.04.2018
  */
 public class Tree extends Plant {
-  private static final Image GFX = new Image("edu/lexaron/gfx/tree.png");
   private static final int MAX_SEED_RADIUS = 10;
   private static final int MAX_SEED_SUGAR_PER_TILE = 10;
   private static final double DAMAGE_RESISTANCE_MULTIPLIER = 0.8;
@@ -29,17 +25,12 @@ public class Tree extends Plant {
    * @param world where the {@link Tree} is to be created
    */
   public Tree(World world) {
-    this("T", getRandom().nextInt(world.getWidth()), getRandom().nextInt(world.getHeight()));
+    this("T", world.getRandom().nextInt(world.getWidth()), world.getRandom().nextInt(world.getHeight()), world.getRandom().split(), world.getCellTable());
   }
 
   @SuppressWarnings ("MagicNumber")
-  private Tree(String id, int x, int y) {
-    super(id, x, y, 50.0, 5, 1.0, 0.1, 0.2, 1.05);
-  }
-
-  @Override
-  public Image getImage() {
-    return GFX;
+  Tree(String id, int x, int y, SplittableRandom random, CellTable table) {
+    super(id, x, y, 50.0, 5, 1.0, 0.1, 0.2, 1.05, random, table);
   }
 
   @Override
@@ -49,8 +40,8 @@ public class Tree extends Plant {
 
   @Override
   public void doHunt(World world) {
-    if (getFood() == null) {
-      lookForFood(world);
+    if (!hasFood()) {
+      searchForFood(world);
     }
     else {
       for (int i = 0; (double) i < getSpeed(); i++) {
@@ -60,22 +51,23 @@ public class Tree extends Plant {
   }
 
   @Override
-  Cell doGiveBirth(int x, int y) {
-    return new Tree(getGeneCode() + getOffspring(), x, y);
+  Cell doGiveBirth(int x, int y, SplittableRandom random) {
+    return new Tree(getGeneCode() + getOffspring(), x, y, random, getTable());
   }
 
   @SuppressWarnings ("MethodDoesntCallSuperMethod")
   @Override
   public void eat(World w) {
-    if (getFood() != null) {
-      Sugar sugar = w.getWorld()[getFood().getY()][getFood().getX()].getSugar();
-      if (sugar != null && sugar.getAmount() > 0.0) {
-        sugar.setAmount(sugar.getAmount() - getBiteSize());
+    if (hasFood()) {
+      double sugar = w.getSugar(getFoodX(), getFoodY());
+      if (sugar > 0.0) {
+        w.setSugar(getFoodX(), getFoodY(), sugar - getBiteSize());
         setEnergy(getEnergy() + getBiteSize());
       }
-      else if (w.getWorld()[getFood().getY()][getFood().getX()].getCell() != null) {
-        Cell anotherCell = w.getWorld()[getFood().getY()][getFood().getX()].getCell();
-        if (getFood() != null && anotherCell != null && anotherCell.getBreed() == getBreed()) {
+      else if (w.getCell(getFoodX(), getFoodY()) != null) {
+        Cell anotherCell = w.getCell(getFoodX(), getFoodY());
+        if (hasFood() && anotherCell != null && anotherCell.getBreed() == getBreed()) {
+          anotherCell.settle(w);
           anotherCell.setEnergy(anotherCell.getEnergy() - getBiteSize(), getBreed());
           setEnergy(getEnergy() + getBiteSize());
         }
@@ -93,9 +85,9 @@ public class Tree extends Plant {
   @Override
   protected void die(World world){
     if (getOffspring() > 0) {
-      ArrayList<Tile> surroundingTiles = world.getTileEnvironment(getX(), getY(), RANDOM.nextInt(MAX_SEED_RADIUS));
-      for (Tile t : surroundingTiles) {
-        t.getSugar().setAmount(t.getSugar().getAmount() + RANDOM.nextInt(MAX_SEED_SUGAR_PER_TILE));
+      int[] surroundingTiles = world.getTileEnvironment(getX(), getY(), getRandom().nextInt(MAX_SEED_RADIUS));
+      for (int t : surroundingTiles) {
+        world.setSugar(t, world.getSugar(t) + getRandom().nextInt(MAX_SEED_SUGAR_PER_TILE));
       }
     }
     super.die(world);
@@ -1,10 +1,8 @@
 package edu.lexaron.cells;
 
-import edu.lexaron.world.Tile;
 import edu.lexaron.world.World;
-import javafx.scene.image.Image;
 
-import java.util.ArrayList;
+import java.util.SplittableRandom;
 
 /**
  * {@link Vulture}s are {@link Carnivorous} {@link Cell}s that feed on corpses.
@@ -16,13 +14,12 @@ import java.util.ArrayList;
  */
 @SuppressWarnings ("MagicNumber")
 public class Vulture extends Carnivorous {
-  private static final Image GFX = new Image("edu/lexaron/gfx/vulture.png");
   private static final int MAX_SUGAR_SPILL_RADIUS = 10;
   private static final int MAX_SUGAR_SPILL_PER_TILE = 1;
   private static final int SUGAR_SPILL_PROB_DIVISOR = 5;
 
-  private Vulture(String id, int x, int y) {
-    super(id, x, y, 50.0, 10, 1.0, 0.5,  7.0, 1.05);
+  Vulture(String id, int x, int y, SplittableRandom random, CellTable table) {
+    super(id, x, y, 50.0, 10, 1.0, 0.5,  7.0, 1.05, random, table);
   }
 
   /**
@@ -31,12 +28,7 @@ public class Vulture extends Carnivorous {
    * @param world where the {@link Vulture} is to be created
    */
   public Vulture(World world) {
-    this("V", getRandom().nextInt(world.getWidth()), getRandom().nextInt(world.getHeight()));
-  }
-
-  @Override
-  public Image getImage() {
-    return GFX;
+    this("V", world.getRandom().nextInt(world.getWidth()), world.getRandom().nextInt(world.getHeight()), world.getRandom().split(), world.getCellTable());
   }
 
   @Override
@@ -45,36 +37,26 @@ public class Vulture extends Carnivorous {
   }
 
   @Override
-  Cell doGiveBirth(int x, int y) {
-    return new Vulture(getGeneCode() + getOffspring(), x, y);
+  Cell doGiveBirth(int x, int y, SplittableRandom random) {
+    return new Vulture(getGeneCode() + getOffspring(), x, y, random, getTable());
   }
 
   @SuppressWarnings ("MethodDoesntCallSuperMethod")
   @Override
   public void lookForFood(World w) {
     resetFoodAndPath();
-        loop:
-    for (int v = 1; v <= getVision(); v++) {
-      for (int i = getY() - v; i <= (getY() + v); i++) {
-        for (int j = getX() - v; j <= (getX() + v); j++) {
-          if (isValidLocation(w, j, i)) {
-            Cell prey = w.getWorld()[i][j].getDeadCell();
-            if (prey != null) {
-              setFood(prey.getX(), prey.getY());
-              break loop;
-            }
-          }
-        }
-      }
+    Cell prey = getVision() > 0 ? w.findClosestCorpse(getX(), getY(), getVision()) : null;
+    if (prey != null) {
+      setFood(prey.getX(), prey.getY());
     }
-    findPathTo(getFood());
+    findPathToFood();
   }
 
   private void spillSugar(World world){
-    ArrayList<Tile> surroundingTiles = world.getTileEnvironment(getX(), getY(), RANDOM.nextInt(MAX_SUGAR_SPILL_RADIUS + 1));
-    for (Tile t : surroundingTiles) {
-      int spiltSugar = RANDOM.nextInt(MAX_SUGAR_SPILL_PER_TILE + 1);
-      t.getSugar().setAmount(t.getSugar().getAmount() + spiltSugar);
+    int[] surroundingTiles = world.getTileEnvironment(getX(), getY(), getRandom().nextInt(MAX_SUGAR_SPILL_RADIUS + 1));
+    for (int t : surroundingTiles) {
+      int spiltSugar = getRandom().nextInt(MAX_SUGAR_SPILL_PER_TILE + 1);
+      world.setSugar(t, world.getSugar(t) + spiltSugar);
     }
   }
 
@@ -85,12 +67,11 @@ public class Vulture extends Carnivorous {
     for (int y = getY() - 1; y <= (getY() + 1); y++) {
       for (int x = getX() - 1; x <= (getX() + 1); x++) {
         if (isValidLocation(world, x, y)) {
-          Tile preyLocation = world.getWorld()[y][x];
-          Cell prey         = preyLocation.getDeadCell();
+          Cell prey = world.getDeadCell(x, y);
           if (prey != null) {
             setEnergy(getEnergy() + (prey.getEnergy() > 0 ? prey.getEnergy() + getBiteSize() : getBiteSize()));
-            preyLocation.setDeadCell(null);
-            if (RANDOM.nextInt(SUGAR_SPILL_PROB_DIVISOR) == 0) {
+            world.setDeadCell(x, y, null);
+            if (getRandom().nextInt(SUGAR_SPILL_PROB_DIVISOR) == 0) {
               spillSugar(world);
             }
             world.getEatenCorpses().add(prey);
@@ -1,14 +1,10 @@
 package edu.lexaron.cells;
 
-import edu.lexaron.world.Sugar;
-import edu.lexaron.world.Tile;
 import edu.lexaron.world.World;
-import javafx.scene.image.Image;
 
-import java.util.ArrayList;
+import java.util.SplittableRandom;
 
 public class Weed extends Plant {
-  private static final Image GFX = new Image("edu/lexaron/gfx/weed.png");
   private static final int MAX_SEED_RADIUS = 10;
   private static final int MAX_SEED_SUGAR_PER_TILE = 10;
 
@@ -18,17 +14,12 @@ public class Weed extends Plant {
    * @param world where the {@link Weed} is to be created
    */
   public Weed(World world) {
-    this("W", getRandom().nextInt(world.getWidth()), getRandom().nextInt(world.getHeight()));
+    this("W", world.getRandom().nextInt(world.getWidth()), world.getRandom().nextInt(world.getHeight()), world.getRandom().split(), world.getCellTable());
   }
 
   @SuppressWarnings("MagicNumber")
-  private Weed(String id, int x, int y) {
-    super(id, x, y, 80.0, 10, 1.0, 1, 0.2, 1.05);
-  }
-
-  @Override
-  public Image getImage() {
-    return GFX;
+  Weed(String id, int x, int y, SplittableRandom random, CellTable table) {
+    super(id, x, y, 80.0, 10, 1.0, 1, 0.2, 1.05, random, table);
   }
 
   @Override
@@ -37,8 +28,8 @@ public class Weed extends Plant {
   }
 @Override
   public void doHunt(World world) {
-    if (getFood() == null) {
-      lookForFood(world);
+    if (!hasFood()) {
+      searchForFood(world);
     }
     else {
       for (int i = 0; (double) i < getSpeed(); i++) {
@@ -48,17 +39,17 @@ public class Weed extends Plant {
   }
 
   @Override
-  Cell doGiveBirth(int x, int y) {
-    return new Weed(getGeneCode() + getOffspring(), x, y);
+  Cell doGiveBirth(int x, int y, SplittableRandom random) {
+    return new Weed(getGeneCode() + getOffspring(), x, y, random, getTable());
   }
 
   @SuppressWarnings ("MethodDoesntCallSuperMethod")
   @Override
   public void eat(World w) {
-    if (getFood() != null) {
-      Sugar sugar = w.getWorld()[getFood().getY()][getFood().getX()].getSugar();
-      if (sugar != null && sugar.getAmount() > 0.0) {
-        sugar.setAmount(sugar.getAmount() - getBiteSize());
+    if (hasFood()) {
+      double sugar = w.getSugar(getFoodX(), getFoodY());
+      if (sugar > 0.0) {
+        w.setSugar(getFoodX(), getFoodY(), sugar - getBiteSize());
         setEnergy(getEnergy() + getBiteSize());
       }
       else {
@@ -74,9 +65,9 @@ public class Weed extends Plant {
   @Override
   protected void die(World world){
     if (getOffspring() > 0) {
-      ArrayList<Tile> surroundingTiles = world.getTileEnvironment(getX(), getY(), RANDOM.nextInt(MAX_SEED_RADIUS));
-      for (Tile t : surroundingTiles) {
-        t.getSugar().setAmount(t.getSugar().getAmount() + RANDOM.nextInt(MAX_SEED_SUGAR_PER_TILE));
+      int[] surroundingTiles = world.getTileEnvironment(getX(), getY(), getRandom().nextInt(MAX_SEED_RADIUS));
+      for (int t : surroundingTiles) {
+        world.setSugar(t, world.getSugar(t) + getRandom().nextInt(MAX_SEED_SUGAR_PER_TILE));
       }
     }
     super.die(world);
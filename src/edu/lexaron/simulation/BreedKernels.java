@@ -0,0 +1,238 @@
+package edu.lexaron.simulation;
+
+import edu.lexaron.cells.Breed;
+import edu.lexaron.cells.Cell;
+import edu.lexaron.cells.HuntClosest;
+import edu.lexaron.cells.HuntFirst;
+import edu.lexaron.cells.HuntMax;
+import edu.lexaron.cells.Leech;
+import edu.lexaron.cells.Spider;
+import edu.lexaron.cells.Tree;
+import edu.lexaron.cells.Vulture;
+import edu.lexaron.cells.Weed;
+import edu.lexaron.world.Instruments;
+import edu.lexaron.world.World;
+
+/**
+ * Lets batches of {@link Cell}s live, one loop per {@link Breed}.
+ * <p>
+ * The JIT compiler profiles each call site on its own. A single loop over {@link Cell}s of every {@link Breed} sees
+ * eight receiver classes at {@link Cell#doHunt(World)} and the other overridden methods, too many to inline any of
+ * them. Each loop here casts to the class of its {@link Breed}, which no other class extends, and calls the three
+ * parts of a life itself, {@link Cell#beginLife(World)}, {@link Cell#doHunt(World)} and
+ * {@link Cell#endLife(World, boolean)}, so every overridden method it calls has a single target and can be inlined.
+ * <p>
+ * {@link edu.lexaron.world.CellStore} keeps {@link Cell}s grouped by {@link Breed}, so a batch taken from it in order
+ * consists of one run per {@link Breed}. While {@link Instruments} are on, each loop times {@link Cell#doHunt(World)}
+ * for its {@link Breed}.
+ *
+ * Date: 17.10.2026.
+ */
+final class BreedKernels {
+  private static final Kernel[] KERNELS = new Kernel[Breed.values().length];
+
+  static {
+    for (Breed breed : Breed.values()) {
+      KERNELS[breed.ordinal()] = create(breed);
+    }
+  }
+
+  private BreedKernels() {}
+
+  /**
+   * Lets every due {@link Cell} of the batch live, in order, each run of {@link Cell}s of the same {@link Breed}
+   * through the loop of that {@link Breed}.
+   *
+   * @param cells     the batch
+   * @param from      index of the first {@link Cell} of the batch
+   * @param to        index after the last {@link Cell} of the batch
+   * @param world     where the {@link Cell}s live
+   * @param scheduler decides which {@link Cell}s are due
+   */
+  static void live(Cell[] cells, int from, int to, World world, Scheduler scheduler) {
+    int start = from;
+    while (start < to) {
+      Class<?> type = cells[start].getClass();
+      int end = start + 1;
+      while (end < to && cells[end].getClass() == type) {
+        end++;
+      }
+      KERNELS[cells[start].getBreed().ordinal()].live(cells, start, end, world, scheduler);
+      start = end;
+    }
+  }
+
+  private static Kernel create(Breed breed) {
+    switch (breed) {
+      case HUNT_CLOSEST: return new HuntClosestKernel();
+      case HUNT_FIRST:   return new HuntFirstKernel();
+      case HUNT_MAX:     return new HuntMaxKernel();
+      case LEECH:        return new LeechKernel();
+      case SPIDER:       return new SpiderKernel();
+      case TREE:         return new TreeKernel();
+      case VULTURE:      return new VultureKernel();
+      case WEED:         return new WeedKernel();
+      default:           throw new IllegalArgumentException("No kernel for " + breed);
+    }
+  }
+
+  /**
+   * Lets a run of {@link Cell}s of one {@link Breed} live. The loops of the subclasses are identical but for their
+   * cast, which is the point: each one is a call site of its own.
+   */
+  private abstract static class Kernel {
+    abstract void live(Cell[] cells, int from, int to, World world, Scheduler scheduler);
+  }
+
+  private static final class HuntClosestKernel extends Kernel {
+    @Override
+    void live(Cell[] cells, int from, int to, World world, Scheduler scheduler) {
+      for (int i = from; i < to; i++) {
+        HuntClosest cell = (HuntClosest) cells[i];
+        if (scheduler.isDue(cell, world)) {
+          boolean hunts = cell.beginLife(world);
+          if (hunts) {
+            long start = Instruments.start();
+            cell.doHunt(world);
+            Instruments.stopHunt(Breed.HUNT_CLOSEST, start);
+          }
+          cell.endLife(world, hunts);
+          scheduler.rest(cell, world);
+        }
+      }
+    }
+  }
+
+  private static final class HuntFirstKernel extends Kernel {
+    @Override
+    void live(Cell[] cells, int from, int to, World world, Scheduler scheduler) {
+      for (int i = from; i < to; i++) {
+        HuntFirst cell = (HuntFirst) cells[i];
+        if (scheduler.isDue(cell, world)) {
+          boolean hunts = cell.beginLife(world);
+          if (hunts) {
+            long start = Instruments.start();
+            cell.doHunt(world);
+            Instruments.stopHunt(Breed.HUNT_FIRST, start);
+          }
+          cell.endLife(world, hunts);
+          scheduler.rest(cell, world);
+        }
+      }
+    }
+  }
+
+  private static final class HuntMaxKernel extends Kernel {
+    @Override
+    void live(Cell[] cells, int from, int to, World world, Scheduler scheduler) {
+      for (int i = from; i < to; i++) {
+        HuntMax cell = (HuntMax) cells[i];
+        if (scheduler.isDue(cell, world)) {
+          boolean hunts = cell.beginLife(world);
+          if (hunts) {
+            long start = Instruments.start();
+            cell.doHunt(world);
+            Instruments.stopHunt(Breed.HUNT_MAX, start);
+          }
+          cell.endLife(world, hunts);
+          scheduler.rest(cell, world);
+        }
+      }
+    }
+  }
+
+  private static final class LeechKernel extends Kernel {
+    @Override
+    void live(Cell[] cells, int from, int to, World world, Scheduler scheduler) {
+      for (int i = from; i < to; i++) {
+        Leech cell = (Leech) cells[i];
+        if (scheduler.isDue(cell, world)) {
+          boolean hunts = cell.beginLife(world);
+          if (hunts) {
+            long start = Instruments.start();
+            cell.doHunt(world);
+            Instruments.stopHunt(Breed.LEECH, start);
+          }
+          cell.endLife(world, hunts);
+          scheduler.rest(cell, world);
+        }
+      }
+    }
+  }
+
+  private static final class SpiderKernel extends Kernel {
+    @Override
+    void live(Cell[] cells, int from, int to, World world, Scheduler scheduler) {
+      for (int i = from; i < to; i++) {
+        Spider cell = (Spider) cells[i];
+        if (scheduler.isDue(cell, world)) {
+          boolean hunts = cell.beginLife(world);
+          if (hunts) {
+            long start = Instruments.start();
+            cell.doHunt(world);
+            Instruments.stopHunt(Breed.SPIDER, start);
+          }
+          cell.endLife(world, hunts);
+          scheduler.rest(cell, world);
+        }
+      }
+    }
+  }
+
+  private static final class TreeKernel extends Kernel {
+    @Override
+    void live(Cell[] cells, int from, int to, World world, Scheduler scheduler) {
+      for (int i = from; i < to; i++) {
+        Tree cell = (Tree) cells[i];
+        if (scheduler.isDue(cell, world)) {
+          boolean hunts = cell.beginLife(world);
+          if (hunts) {
+            long start = Instruments.start();
+            cell.doHunt(world);
+            Instruments.stopHunt(Breed.TREE, start);
+          }
+          cell.endLife(world, hunts);
+          scheduler.rest(cell, world);
+        }
+      }
+    }
+  }
+
+  private static final class VultureKernel extends Kernel {
+    @Override
+    void live(Cell[] cells, int from, int to, World world, Scheduler scheduler) {
+      for (int i = from; i < to; i++) {
+        Vulture cell = (Vulture) cells[i];
+        if (scheduler.isDue(cell, world)) {
+          boolean hunts = cell.beginLife(world);
+          if (hunts) {
+            long start = Instruments.start();
+            cell.doHunt(world);
+            Instruments.stopHunt(Breed.VULTURE, start);
+          }
+          cell.endLife(world, hunts);
+          scheduler.rest(cell, world);
+        }
+      }
+    }
+  }
+
+  private static final class WeedKernel extends Kernel {
+    @Override
+    void live(Cell[] cells, int from, int to, World world, Scheduler scheduler) {
+      for (int i = from; i < to; i++) {
+        Weed cell = (Weed) cells[i];
+        if (scheduler.isDue(cell, world)) {
+          boolean hunts = cell.beginLife(world);
+          if (hunts) {
+            long start = Instruments.start();
+            cell.doHunt(world);
+            Instruments.stopHunt(Breed.WEED, start);
+          }
+          cell.endLife(world, hunts);
+          scheduler.rest(cell, world);
+        }
+      }
+    }
+  }
+}
@@ -5,6 +5,7 @@
  */
 package edu.lexaron.simulation;
 
+import edu.lexaron.world.Instruments;
 import javafx.application.Application;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -17,16 +18,13 @@ import javafx.scene.control.SpinnerValueFactory;
 import javafx.scene.layout.*;
 import javafx.stage.Stage;
 
-import java.security.SecureRandom;
-import java.util.Random;
-import java.util.Timer;
-
-import static edu.lexaron.simulation.WorldPainter.paintWorld;
+import java.util.SplittableRandom;
 
 /**
  * @author Mirza Suljić <mirza.suljic.ba@gmail.com>
  */
 public class CellSIM extends Application {
+  private static final String SEED_PROPERTY = "cellsim.seed";
 
   public static void main(String[] args) {
     launch(args);
@@ -75,20 +73,20 @@ public class CellSIM extends Application {
     // endregion
 
 
-    Engine engine = new Engine(infoPanel, counter, liveCells, deadCells, totalCells, totalSugar);
+    // pass -Dcellsim.seed=<seed> to replay a run
+    Engine engine = new Engine(infoPanel, counter, liveCells, deadCells, totalCells, totalSugar, Long.getLong(SEED_PROPERTY, System.nanoTime()));
     Canvas canvas = new Canvas((double) (engine.getWidth() * 5), (double) (engine.getHeight() * 5));
-    final Random GLOBAL_RANDOM = new SecureRandom();
+    final SplittableRandom GLOBAL_RANDOM = engine.getWorld().getRandom().split();
 
     Button start = new Button("Start");
     start.setOnAction(e -> {
-      engine.startThread(canvas, new Timer());
+      engine.startThread();
       System.out.println("Simulation started...");
       start.setDisable(true);
     });
     Button generateWorld = new Button("Spawn new cells & reset sugar");
     generateWorld.setOnAction(e -> {
-      engine.generateWorld(true, canvas, GLOBAL_RANDOM.nextInt(100));
-      paintWorld(engine.getWorld(), canvas);
+      engine.generateWorld(true, GLOBAL_RANDOM.nextInt(100));
     });
 
     final Spinner<Integer> sugarFactorSpinner = new Spinner<>();
@@ -99,8 +97,21 @@ public class CellSIM extends Application {
 
     Button generateWorldWithDefinedSugar = new Button("Reset World with defined sugar factor");
     generateWorldWithDefinedSugar.setOnAction(e -> {
-      engine.generateWorld(true, canvas, sugarFactorSpinner.getValue());
-      paintWorld(engine.getWorld(), canvas);
+      engine.generateWorld(true, sugarFactorSpinner.getValue());
+    });
+    // switching instruments off prints what they recorded
+    Button instruments = new Button("Instruments on");
+    instruments.setOnAction(e -> {
+      if (Instruments.isEnabled()) {
+        Instruments.setEnabled(false);
+        System.out.print(Instruments.report());
+        instruments.setText("Instruments on");
+      }
+      else {
+        Instruments.reset();
+        Instruments.setEnabled(true);
+        instruments.setText("Instruments off");
+      }
     });
     // STRUCTURING
     menuRow1.getChildren().addAll(
@@ -114,14 +125,16 @@ public class CellSIM extends Application {
         start,
         generateWorld,
         generateWorldWithDefinedSugar,
-        sugarFactorSpinner
+        sugarFactorSpinner,
+        instruments
     );
     menu.getChildren().addAll(
         menuRow1,
         stats
     );
 
-    engine.generateWorld(false, canvas, GLOBAL_RANDOM.nextInt(100));
+    engine.generateWorld(false, GLOBAL_RANDOM.nextInt(100));
+    engine.startRendering(canvas);
 
     root.setTop(menu);
 
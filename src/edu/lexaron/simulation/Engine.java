@@ -1,8 +1,10 @@
 package edu.lexaron.simulation;
 
-import edu.lexaron.cells.*;
+import edu.lexaron.cells.Cell;
+import edu.lexaron.world.Instruments;
+import edu.lexaron.world.Instruments.Phase;
 import edu.lexaron.world.World;
-import javafx.application.Platform;
+import javafx.animation.AnimationTimer;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.CacheHint;
@@ -10,10 +12,9 @@ import javafx.scene.canvas.Canvas;
 import javafx.scene.control.Label;
 import javafx.scene.layout.VBox;
 
-import java.security.SecureRandom;
-import java.util.Random;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static edu.lexaron.simulation.WorldPainter.paintCell;
 import static edu.lexaron.simulation.WorldPainter.paintWorld;
@@ -21,6 +22,12 @@ import static edu.lexaron.simulation.WorldPainter.paintWorld;
 /**
  * This class analyzes the {@link World} and it's {@link Cell}s. Apart from that, it starts a thread which is
  * the backbone of this entire project.
+ * <p>
+ * The simulation thread is the only one touching the {@link World}. After each tick it publishes a {@link Frame},
+ * which the FX thread renders from an {@link AnimationTimer} at display rate. Only the latest {@link Frame} is kept,
+ * so a slow UI drops frames instead of slowing the simulation down, and a slow tick never freezes the UI. The chunks
+ * a dropped {@link Frame} carried are copied into the next one. Requests from
+ * the UI, such as generating a new {@link World}, are queued and carried out by the simulation thread between ticks.
  *
  * @author Mirza Suljić <mirza.suljic.ba@gmail.com>
  * Date & time: Feb 6, 2016, 3:41:07 AM
@@ -31,19 +38,25 @@ import static edu.lexaron.simulation.WorldPainter.paintWorld;
 public class Engine {
   private static final int    HEIGHT = 400;
   private static final int    WIDTH  = 600;
-  private static final Random RANDOM = new SecureRandom();
+  private static final long   TICK_PERIOD_MS = 75L;
 
-  private final double  sugarFactor = (double) RANDOM.nextInt(100);
-  private final World   world       = new World(WIDTH, HEIGHT);
-  private final Life    life        = new Life(world);
+  private final double  sugarFactor;
+  private final World   world;
+  private final Life    life;
   private final VBox    infoPanel;
+  private final Monitor monitor;
   private final Label   gens_L, liveCells_L, deadCells_L, cells_L, sugar_L;
+  private final AtomicReference<Frame> latestFrame = new AtomicReference<>();
+  private final Queue<Runnable>        commands    = new ConcurrentLinkedQueue<>();
 
-  private int generations = 0;
-  private int totalSugar  = 0;
+  private volatile boolean started = false;
 
-  Engine(VBox infoPanel, Label totalGenerations, Label liveCells, Label deadCells, Label totalCells, Label totalSugar) {
+  Engine(VBox infoPanel, Label totalGenerations, Label liveCells, Label deadCells, Label totalCells, Label totalSugar, long seed) {
+    world = new World(WIDTH, HEIGHT, seed);
+    life = new Life(world);
+    sugarFactor = (double) world.getRandom().nextInt(100);
     this.infoPanel = infoPanel;
+    monitor = new Monitor(infoPanel);
     gens_L = totalGenerations;
     liveCells_L = liveCells;
     deadCells_L = deadCells;
@@ -65,59 +78,107 @@ public class Engine {
     return HEIGHT;
   }
 
+  /**
+   * Starts the simulation thread, paused, and renders every {@link Frame} it publishes onto the provided
+   * {@link Canvas}. Must be called from the FX thread.
+   *
+   * @param canvas where the {@link World} is painted
+   */
   @SuppressWarnings ("MagicNumber")
-  void startThread(Canvas canvas, Timer timer) {
+  void startRendering(Canvas canvas) {
     canvas.setCache(true);
     canvas.setCacheHint(CacheHint.SPEED);
 
     infoPanel.setPadding(new Insets(10.0));
     infoPanel.setSpacing(5.0);
-//    infoPanel.setMinWidth(200.0);
-//    infoPanel.setMaxWidth(250.0);
-//    infoPanel.setMaxHeight(1000.0);
     infoPanel.getStyleClass().add("accentText");
     infoPanel.setAlignment(Pos.TOP_CENTER);
     infoPanel.setCache(true);
     infoPanel.setCacheHint(CacheHint.SPEED);
 
-    reseedCells(world);
-    Runnable lifeThread = new Thread(life);
+    Thread simulation = new Thread(this::simulate, "simulation");
+    simulation.setDaemon(true);
+    simulation.start();
 
-    TimerTask timerTask = new TimerTask() {
+    WorldRaster raster = new WorldRaster(WIDTH, HEIGHT);
+    new AnimationTimer() {
       @Override
-      public void run() {
-        Platform.runLater(() -> {
-          synchronized (world) {
-            lifeThread.run();
-          }
-          canvas.getGraphicsContext2D().clearRect(0.0, 0.0, canvas.getWidth(), canvas.getHeight());
-          paintWorld(world, canvas);
-          world.getAllCells().forEach(cell -> paintCell(cell, canvas));
-          if (world.getAllCells().stream().anyMatch(Cell::isAlive)) {
-            Monitor.refreshCellInformation(world, infoPanel);
-          }
-          else {
-            infoPanel.getChildren().clear();
-            Label done = new Label("No live cells!");
-            done.getStyleClass().addAll("accentText", "biggerText");
-            infoPanel.getChildren().add(done);
-            timer.cancel();
-            timer.purge();
+      public void handle(long now) {
+        Frame frame = latestFrame.getAndSet(null);
+        if (frame != null) {
+          render(frame, raster, canvas);
+        }
+      }
+    }.start();
+  }
+
+  /**
+   * Lets the simulation thread start ticking.
+   */
+  void startThread() {
+    started = true;
+  }
+
+  private void simulate() {
+    try {
+      while (!Thread.currentThread().isInterrupted()) {
+        long tickStart = System.nanoTime();
+        boolean changed = false;
+        Runnable command;
+        while ((command = commands.poll()) != null) {
+          command.run();
+          changed = true;
+        }
+        if (started && (!world.getNewBornCells().isEmpty() || world.countLiveCells() > 0)) {
+          life.run();
+          changed = true;
+        }
+        if (changed) {
+          Frame dropped = latestFrame.getAndSet(null);
+          if (dropped != null) {
+            dropped.markChunksDirtyAgain(world);
           }
-          generations++;
-          gens_L     .setText(generations + " generations");
-          cells_L    .setText("Total: " + world.getAllCells().size());
-          liveCells_L.setText("Alive: " + world.getAllCells().stream().filter(Cell::isAlive).count());
-          deadCells_L.setText("Dead: "  + world.getAllCells().stream().filter(cell -> !cell.isAlive()).count());
-          sugar_L    .setText("Sugar: " + world.getTotalSugar());
-          totalSugar = 0;
-        });
+          latestFrame.set(Frame.capture(world));
+        }
+        long elapsed = (System.nanoTime() - tickStart) / 1_000_000L;
+        if (elapsed < TICK_PERIOD_MS) {
+          Thread.sleep(TICK_PERIOD_MS - elapsed);
+        }
       }
-    };
-    timer.schedule(timerTask, 200L, 75L);
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void render(Frame frame, WorldRaster raster, Canvas canvas) {
+    canvas.getGraphicsContext2D().clearRect(0.0, 0.0, canvas.getWidth(), canvas.getHeight());
+    long start = Instruments.start();
+    paintWorld(frame, raster, canvas);
+    Instruments.stop(Phase.PAINT_WORLD, start);
+    start = Instruments.start();
+    for (int cell = 0; cell < frame.getCellCount(); cell++) {
+      paintCell(frame, cell, canvas);
+    }
+    Instruments.stop(Phase.PAINT_CELLS, start);
+    start = Instruments.start();
+    if (frame.getLiveCells() > 0) {
+      monitor.refresh(frame);
+    }
+    else if (frame.getCellCount() > 0) {
+      monitor.showExtinct();
+    }
+    Instruments.stop(Phase.MONITOR, start);
+    gens_L     .setText(frame.getTick() + " generations");
+    cells_L    .setText("Total: " + frame.getCellCount());
+    liveCells_L.setText("Alive: " + frame.getLiveCells());
+    deadCells_L.setText("Dead: "  + (frame.getCellCount() - frame.getLiveCells()));
+    sugar_L    .setText("Sugar: " + frame.getTotalSugar());
   }
 
   /**
+   * Must only be used by the simulation thread, or before it is started.
+   *
    * @return the cellular {@link World} where all cells and food sources exist
    */
   public World getWorld() {
@@ -128,23 +189,19 @@ public class Engine {
     return sugarFactor;
   }
 
-  void generateWorld(boolean cellsToo, Canvas canvas, double sugarFactor) {
-    world.generateWorld(sugarFactor);
-    canvas.getGraphicsContext2D().clearRect(0.0, 0.0, canvas.getWidth(), canvas.getHeight());
-    if (cellsToo) {
-      reseedCells(world);
-    }
-  }
-
-  private static void reseedCells(World world) {
-    world.getNewBornCells().add(new HuntClosest(world));
-    world.getNewBornCells().add(new HuntFirst(world));
-    world.getNewBornCells().add(new HuntMax(world));
-    world.getNewBornCells().add(new Leech(world));
-    world.getNewBornCells().add(new Spider(world));
-    world.getNewBornCells().add(new Tree(world));
-    world.getNewBornCells().add(new Vulture(world));
-    world.getNewBornCells().add(new Weed(world));
+  /**
+   * Queues a new {@link World} for generation by the simulation thread.
+   *
+   * @param cellsToo    whether or not a default member of each breed is spawned as well
+   * @param sugarFactor percentage of tiles which receive sugar
+   */
+  void generateWorld(boolean cellsToo, double sugarFactor) {
+    commands.add(() -> {
+      world.generateWorld(sugarFactor);
+      if (cellsToo) {
+        life.seedCells();
+      }
+    });
   }
 
 }
@@ -0,0 +1,229 @@
+package edu.lexaron.simulation;
+
+import edu.lexaron.cells.Breed;
+import edu.lexaron.cells.Cell;
+import edu.lexaron.world.Rules;
+import edu.lexaron.world.World;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs many independent {@link World}s side by side, to sweep over settings and {@link Rules}. Every combination of
+ * the listed values is run once per seed:
+ * <pre>
+ *   --sugar 30,50,70 --birth-requirement 80,100 --offspring-limit 3 --mutation-rate 1 --seeds 4 --seed 42
+ *   --ticks 10000 --width 600 --height 400 --parallel 16 --results ensemble.csv
+ * </pre>
+ * Each run is simulated by a single thread; {@code --parallel} runs (by default one per processor) are simulated at
+ * once. A run stops early once no live {@link Cell}s are left, or once its population is steady: the number of live
+ * {@link Cell}s, sampled every {@code --sample-interval} ticks, varies by no more than {@code --steady-tolerance} of its
+ * mean over the last {@code --steady-window} samples.
+ * <p>
+ * Every run appends one line to the results file as soon as it ends, so the lines appear in the order the runs end;
+ * the first column tells them apart.
+ *
+ * Date: 17.10.2026.
+ */
+public class Ensemble {
+  private static final String TICKS             = "ticks";
+  private static final String WIDTH             = "width";
+  private static final String HEIGHT            = "height";
+  private static final String SUGAR             = "sugar";
+  private static final String BIRTH_REQUIREMENT = "birth-requirement";
+  private static final String OFFSPRING_LIMIT   = "offspring-limit";
+  private static final String MUTATION_RATE     = "mutation-rate";
+  private static final String SEED              = "seed";
+  private static final String SEEDS             = "seeds";
+  private static final String PARALLEL          = "parallel";
+  private static final String SLEEP             = "sleep";
+  private static final String SAMPLE_INTERVAL   = "sample-interval";
+  private static final String STEADY_WINDOW     = "steady-window";
+  private static final String STEADY_TOLERANCE  = "steady-tolerance";
+  private static final String RESULTS           = "results";
+  private static final Breed[] BREEDS = Breed.values();
+
+  private final int    ticks, width, height, sampleInterval, steadyWindow;
+  private final double steadyTolerance;
+  private final boolean sleep;
+  private final Writer results;
+
+  private Ensemble(Properties settings, Writer results) {
+    ticks           = Integer.parseInt(settings.getProperty(TICKS, "10000"));
+    width           = Integer.parseInt(settings.getProperty(WIDTH, "600"));
+    height          = Integer.parseInt(settings.getProperty(HEIGHT, "400"));
+    sampleInterval  = Integer.parseInt(settings.getProperty(SAMPLE_INTERVAL, "100"));
+    steadyWindow    = Integer.parseInt(settings.getProperty(STEADY_WINDOW, "10"));
+    steadyTolerance = Double.parseDouble(settings.getProperty(STEADY_TOLERANCE, "0.02"));
+    sleep           = Boolean.parseBoolean(settings.getProperty(SLEEP, "false"));
+    this.results    = results;
+  }
+
+  public static void main(String[] args) throws IOException, InterruptedException {
+    Properties settings = Headless.readSettings(args);
+    List<Run> runs = plan(settings);
+    int parallel = Integer.parseInt(settings.getProperty(PARALLEL,
+        String.valueOf(Runtime.getRuntime().availableProcessors())));
+
+    ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(parallel, runs.size())));
+    try (BufferedWriter out = Files.newBufferedWriter(Paths.get(settings.getProperty(RESULTS, "ensemble.csv")),
+                                                      StandardCharsets.UTF_8)) {
+      Ensemble ensemble = new Ensemble(settings, out);
+      ensemble.writeHeader();
+      long start = System.nanoTime();
+      List<Future<?>> pending = new ArrayList<>(runs.size());
+      for (Run run : runs) {
+        pending.add(pool.submit(() -> ensemble.simulate(run)));
+      }
+      for (Future<?> future : pending) {
+        try {
+          future.get();
+        }
+        catch (ExecutionException e) {
+          System.err.println("Run failed: " + e.getCause());
+        }
+      }
+      System.out.println(String.format("%s runs in %.3f s", runs.size(), (System.nanoTime() - start) / 1.0e9));
+    }
+    finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Expands the listed values into one {@link Run} per combination and seed. Seeds are drawn from {@code --seed}, so
+   * an ensemble can be reproduced.
+   */
+  private static List<Run> plan(Properties settings) {
+    double[] sugar     = parseList(settings.getProperty(SUGAR, "50"));
+    double[] birth     = parseList(settings.getProperty(BIRTH_REQUIREMENT, String.valueOf(Rules.DEFAULT.getBirthRequirement())));
+    double[] offspring = parseList(settings.getProperty(OFFSPRING_LIMIT, String.valueOf(Rules.DEFAULT.getOffspringLimit())));
+    double[] mutation  = parseList(settings.getProperty(MUTATION_RATE, String.valueOf(Rules.DEFAULT.getMutationRate())));
+    int seeds = Integer.parseInt(settings.getProperty(SEEDS, "1"));
+    SplittableRandom seedSource = new SplittableRandom(Long.parseLong(settings.getProperty(SEED, String.valueOf(System.nanoTime()))));
+
+    List<Run> runs = new ArrayList<>();
+    for (double s : sugar) {
+      for (double b : birth) {
+        for (double o : offspring) {
+          for (double m : mutation) {
+            for (int i = 0; i < seeds; i++) {
+              runs.add(new Run(runs.size(), seedSource.nextLong(), s, new Rules(b, (int) o, m)));
+            }
+          }
+        }
+      }
+    }
+    return runs;
+  }
+
+  private static double[] parseList(String values) {
+    String[] parts = values.split(",");
+    double[] parsed = new double[parts.length];
+    for (int i = 0; i < parts.length; i++) {
+      parsed[i] = Double.parseDouble(parts[i].trim());
+    }
+    return parsed;
+  }
+
+  private void simulate(Run run) {
+    long start = System.nanoTime();
+    World world = new World(width, height, run.seed, run.rules);
+    Life life = new Life(world, 1, Life.DEFAULT_STRIP_HEIGHT, sleep);
+    world.generateWorld(run.sugarFactor);
+    life.seedCells();
+
+    int[] samples = new int[steadyWindow];
+    int sampled = 0, generations = 0;
+    String outcome = "COMPLETED";
+    while (generations < ticks) {
+      life.run();
+      generations++;
+      if (world.countLiveCells() == 0) {
+        outcome = "EXTINCT";
+        break;
+      }
+      if (generations % sampleInterval == 0) {
+        samples[sampled++ % steadyWindow] = world.countLiveCells();
+        if (sampled >= steadyWindow && isSteady(samples)) {
+          outcome = "STEADY";
+          break;
+        }
+      }
+    }
+    report(run, outcome, generations, (System.nanoTime() - start) / 1.0e9, world);
+  }
+
+  private boolean isSteady(int[] samples) {
+    int min = Integer.MAX_VALUE, max = 0;
+    long sum = 0;
+    for (int sample : samples) {
+      min = Math.min(min, sample);
+      max = Math.max(max, sample);
+      sum += sample;
+    }
+    return max - min <= steadyTolerance * sum / samples.length;
+  }
+
+  private void writeHeader() throws IOException {
+    StringBuilder header = new StringBuilder(
+        "run,seed,sugar_factor,birth_requirement,offspring_limit,mutation_rate,outcome,ticks,seconds,alive,dead,sugar");
+    for (Breed breed : BREEDS) {
+      header.append(',').append(breed.name().toLowerCase());
+    }
+    synchronized (results) {
+      results.write(header.append('\n').toString());
+      results.flush();
+    }
+  }
+
+  private void report(Run run, String outcome, int generations, double seconds, World world) {
+    StringBuilder line = new StringBuilder().append(run.index).append(',').append(run.seed).append(',')
+        .append(run.sugarFactor).append(',').append(run.rules.getBirthRequirement()).append(',')
+        .append(run.rules.getOffspringLimit()).append(',').append(run.rules.getMutationRate()).append(',')
+        .append(outcome).append(',').append(generations).append(',').append(String.format("%.3f", seconds)).append(',')
+        .append(world.countLiveCells()).append(',').append(world.countDeadCells()).append(',').append(world.getTotalSugar());
+    for (Breed breed : BREEDS) {
+      line.append(',').append(world.countLiveCells(breed));
+    }
+    synchronized (results) {
+      try {
+        results.write(line.append('\n').toString());
+        results.flush();
+      }
+      catch (IOException e) {
+        throw new UncheckedIOException("Could not write the result of run " + run.index, e);
+      }
+    }
+  }
+
+  /**
+   * One {@link World} of the ensemble.
+   */
+  private static final class Run {
+    private final int    index;
+    private final long   seed;
+    private final double sugarFactor;
+    private final Rules  rules;
+
+    private Run(int index, long seed, double sugarFactor, Rules rules) {
+      this.index       = index;
+      this.seed        = seed;
+      this.sugarFactor = sugarFactor;
+      this.rules       = rules;
+    }
+  }
+}
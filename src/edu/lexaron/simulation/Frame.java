@@ -0,0 +1,279 @@
+package edu.lexaron.simulation;
+
+import edu.lexaron.cells.Breed;
+import edu.lexaron.cells.Cell;
+import edu.lexaron.cells.BreedStatistics;
+import edu.lexaron.cells.Trait;
+import edu.lexaron.world.CellStore;
+import edu.lexaron.world.World;
+
+/**
+ * An immutable copy of everything the UI shows about one tick: sugar, trails, {@link Cell} positions and energies and
+ * the statistics of each {@link Breed}. The simulation thread captures a {@link Frame} after each tick and hands it
+ * over to the FX thread, which can then render it without touching the {@link World}.
+ * <p>
+ * Sugar and trails are only copied for the chunks of the {@link World} that changed since the previous {@link Frame}
+ * (see {@link World#CHUNK_SIZE}). Within a {@link Frame}, the tiles of each dirty chunk are stored row by row with a
+ * stride of {@link World#CHUNK_SIZE}.
+ *
+ * Date: 17.10.2026.
+ */
+final class Frame {
+  static final int NO_FOOD = Cell.NO_FOOD;
+  private static final Breed[] BREEDS = Breed.values();
+
+  private final int       tick, width, height, chunksX;
+  private final int[]     dirtyChunks;
+  private final float[]   sugar;
+  private final int[]     trailAmount;
+  private final byte[]    trailBreed;
+  private final int       cellCount, liveCells, totalSugar;
+  private final int[]     cellX, cellY, foodX, foodY;
+  private final byte[]    cellBreed;
+  private final float[]   cellEnergy;
+  private final boolean[] cellAlive;
+  private final BreedSummary[] breeds = new BreedSummary[BREEDS.length];
+
+  private Frame(World world) {
+    tick   = world.getTick();
+    width  = world.getWidth();
+    height = world.getHeight();
+    chunksX = world.getChunksX();
+    int dirty = 0;
+    for (int chunk = 0; chunk < chunksX * world.getChunksY(); chunk++) {
+      if (world.isChunkDirty(chunk)) {
+        dirty++;
+      }
+    }
+    dirtyChunks = new int[dirty];
+    int chunkTiles = World.CHUNK_SIZE * World.CHUNK_SIZE;
+    sugar       = new float[dirty * chunkTiles];
+    trailAmount = new int[dirty * chunkTiles];
+    trailBreed  = new byte[dirty * chunkTiles];
+    int n = 0;
+    for (int chunk = 0; n < dirty; chunk++) {
+      if (world.isChunkDirty(chunk)) {
+        dirtyChunks[n] = chunk;
+        copyChunk(world, chunk, n * chunkTiles);
+        n++;
+      }
+    }
+    world.cleanChunks();
+    totalSugar = world.getTotalSugar();
+
+    CellStore cells = world.getCells();
+    cellCount  = cells.size();
+    cellX      = new int[cellCount];
+    cellY      = new int[cellCount];
+    foodX      = new int[cellCount];
+    foodY      = new int[cellCount];
+    cellBreed  = new byte[cellCount];
+    cellEnergy = new float[cellCount];
+    cellAlive  = new boolean[cellCount];
+    // corpses first, so that live cells are painted on top of them
+    int alive = 0;
+    double[] energy = new double[BREEDS.length];
+    for (n = 0; n < cellCount; n++) {
+      Cell cell = n < cells.getDeadCount() ? cells.getDead(n) : cells.getLive(n - cells.getDeadCount());
+      cellX[n]      = cell.getX();
+      cellY[n]      = cell.getY();
+      foodX[n]      = cell.getFoodX();
+      foodY[n]      = cell.getFoodY();
+      cellBreed[n]  = (byte) cell.getBreed().ordinal();
+      cellEnergy[n] = (float) cell.getCurrentEnergy(world);
+      cellAlive[n]  = cell.isAlive();
+      if (cell.isAlive()) {
+        alive++;
+        energy[cellBreed[n]] += cellEnergy[n];
+      }
+    }
+    liveCells = alive;
+    for (Breed breed : BREEDS) {
+      if (world.countLiveCells(breed) + world.countDeadCells(breed) > 0) {
+        breeds[breed.ordinal()] = new BreedSummary(world.getCellTable().getStatistics(breed).snapshot(), energy[breed.ordinal()]);
+      }
+    }
+  }
+
+  private void copyChunk(World world, int chunk, int offset) {
+    for (int y = getChunkY(chunk); y < getChunkY(chunk) + getChunkHeight(chunk); y++) {
+      for (int x = getChunkX(chunk); x < getChunkX(chunk) + getChunkWidth(chunk); x++) {
+        int slot = offset + (y - getChunkY(chunk)) * World.CHUNK_SIZE + (x - getChunkX(chunk));
+        sugar[slot] = (float) world.getSugar(x, y);
+        Cell source = world.getTrailSource(x, y);
+        if (source != null) {
+          trailAmount[slot] = world.getTrailAmount(x, y);
+          trailBreed[slot]  = (byte) (source.getBreed().ordinal() + 1);
+        }
+      }
+    }
+  }
+
+  /**
+   * Copies the chunks that changed since the previous capture and marks them as clean. Must be called by the thread
+   * that runs the simulation, or while it is not running.
+   *
+   * @param world the {@link World} to copy
+   * @return the current state of the {@link World}
+   */
+  static Frame capture(World world) {
+    return new Frame(world);
+  }
+
+  /**
+   * Hands the chunks of a {@link Frame} that was never rendered back to the {@link World}, so that the next
+   * {@link Frame} contains them as well.
+   *
+   * @param world the {@link World} this {@link Frame} was captured from
+   */
+  void markChunksDirtyAgain(World world) {
+    for (int chunk : dirtyChunks) {
+      world.markChunkDirty(chunk);
+    }
+  }
+
+  int getTick() {
+    return tick;
+  }
+
+  int getWidth() {
+    return width;
+  }
+
+  int getHeight() {
+    return height;
+  }
+
+  int getDirtyChunkCount() {
+    return dirtyChunks.length;
+  }
+
+  /**
+   * @param n position of the chunk within this {@link Frame}
+   * @return index of the n-th dirty chunk within the {@link World}
+   */
+  int getDirtyChunk(int n) {
+    return dirtyChunks[n];
+  }
+
+  int getChunkX(int chunk) {
+    return (chunk % chunksX) * World.CHUNK_SIZE;
+  }
+
+  int getChunkY(int chunk) {
+    return (chunk / chunksX) * World.CHUNK_SIZE;
+  }
+
+  int getChunkWidth(int chunk) {
+    return Math.min(World.CHUNK_SIZE, width - getChunkX(chunk));
+  }
+
+  int getChunkHeight(int chunk) {
+    return Math.min(World.CHUNK_SIZE, height - getChunkY(chunk));
+  }
+
+  /**
+   * @param slot {@code n * CHUNK_SIZE² + dy * CHUNK_SIZE + dx} for tile (dx, dy) of the n-th dirty chunk
+   */
+  float getSugar(int slot) {
+    return sugar[slot];
+  }
+
+  int getTrailAmount(int slot) {
+    return trailAmount[slot];
+  }
+
+  /**
+   * @return the {@link Breed} that left the trail on the tile, or null
+   */
+  Breed getTrailBreed(int slot) {
+    return trailBreed[slot] == 0 ? null : BREEDS[trailBreed[slot] - 1];
+  }
+
+  int getTotalSugar() {
+    return totalSugar;
+  }
+
+  int getCellCount() {
+    return cellCount;
+  }
+
+  int getLiveCells() {
+    return liveCells;
+  }
+
+  int getCellX(int cell) {
+    return cellX[cell];
+  }
+
+  int getCellY(int cell) {
+    return cellY[cell];
+  }
+
+  /**
+   * @return the horizontal coordinate of the cell's food, or {@link #NO_FOOD}
+   */
+  int getFoodX(int cell) {
+    return foodX[cell];
+  }
+
+  int getFoodY(int cell) {
+    return foodY[cell];
+  }
+
+  Breed getBreed(int cell) {
+    return BREEDS[cellBreed[cell]];
+  }
+
+  float getEnergy(int cell) {
+    return cellEnergy[cell];
+  }
+
+  boolean isAlive(int cell) {
+    return cellAlive[cell];
+  }
+
+  /**
+   * @return the summary of the provided {@link Breed}, or null if it has no live or dead members
+   */
+  BreedSummary getBreedSummary(Breed breed) {
+    return breeds[breed.ordinal()];
+  }
+
+  /**
+   * Statistics of the live members of one {@link Breed}.
+   */
+  static final class BreedSummary {
+    private final BreedStatistics statistics;
+    private final double          energy;
+
+    private BreedSummary(BreedStatistics statistics, double energy) {
+      this.statistics = statistics;
+      this.energy     = energy;
+    }
+
+    Breed getBreed() {
+      return statistics.getBreed();
+    }
+
+    int getLive() {
+      return statistics.getCount();
+    }
+
+    double getMean(Trait trait) {
+      return statistics.getMean(trait);
+    }
+
+    double getStandardDeviation(Trait trait) {
+      return statistics.getStandardDeviation(trait);
+    }
+
+    double getQuantile(Trait trait, double quantile) {
+      return statistics.getQuantile(trait, quantile);
+    }
+
+    double getAverageEnergy() {
+      return getLive() == 0 ? 0.0 : energy / getLive();
+    }
+  }
+}
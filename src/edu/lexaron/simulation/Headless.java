@@ -0,0 +1,103 @@
+package edu.lexaron.simulation;
+
+import edu.lexaron.cells.Cell;
+import edu.lexaron.world.Instruments;
+import edu.lexaron.world.World;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+/**
+ * Runs the simulation without a UI, as fast as the CPU allows. Settings are read from an optional properties file
+ * ({@code --config <file>}) and can be overridden from the command line:
+ * <pre>
+ *   --ticks 10000 --width 600 --height 400 --sugar 50 --seed 42 --threads 8 --strip-height 128 --sleep true
+ *   --record run-42 --instruments true
+ * </pre>
+ * The run ends after the given number of ticks or as soon as no live {@link Cell}s are left. With {@code --record}, a
+ * {@link Recorder} writes one row of metrics per tick to {@code run-42.csv} and {@code run-42.bin}. With
+ * {@code --instruments true}, the run is timed by {@link Instruments}, whose report is printed at the end.
+ *
+ * Date: 17.10.2026.
+ */
+public class Headless {
+  private static final String CONFIG = "config";
+  private static final String TICKS  = "ticks";
+  private static final String WIDTH  = "width";
+  private static final String HEIGHT = "height";
+  private static final String SUGAR  = "sugar";
+  private static final String SEED   = "seed";
+  private static final String THREADS      = "threads";
+  private static final String STRIP_HEIGHT = "strip-height";
+  private static final String SLEEP        = "sleep";
+  private static final String RECORD       = "record";
+  private static final String INSTRUMENTS  = "instruments";
+
+  private Headless() {}
+
+  public static void main(String[] args) throws IOException {
+    Properties settings = readSettings(args);
+    int    ticks       = Integer.parseInt(settings.getProperty(TICKS, "10000"));
+    int    width       = Integer.parseInt(settings.getProperty(WIDTH, "600"));
+    int    height      = Integer.parseInt(settings.getProperty(HEIGHT, "400"));
+    double sugarFactor = Double.parseDouble(settings.getProperty(SUGAR, "50"));
+    long   seed        = Long.parseLong(settings.getProperty(SEED, String.valueOf(System.nanoTime())));
+    int    threads     = Integer.parseInt(settings.getProperty(THREADS, "1"));
+    int    stripHeight = Integer.parseInt(settings.getProperty(STRIP_HEIGHT, String.valueOf(Life.DEFAULT_STRIP_HEIGHT)));
+    boolean sleep      = Boolean.parseBoolean(settings.getProperty(SLEEP, "false"));
+
+    World world = new World(width, height, seed);
+    Life life = new Life(world, threads, stripHeight, sleep);
+    world.generateWorld(sugarFactor);
+    life.seedCells();
+    Recorder recorder = settings.containsKey(RECORD)
+        ? new Recorder(Recorder.DEFAULT_CAPACITY, Paths.get(settings.getProperty(RECORD)))
+        : null;
+    life.setRecorder(recorder);
+    Instruments.setEnabled(Boolean.parseBoolean(settings.getProperty(INSTRUMENTS, "false")));
+
+    long start = System.nanoTime();
+    int generations = 0;
+    while (generations < ticks) {
+      life.run();
+      generations++;
+      if (world.countLiveCells() == 0) {
+        System.out.println("No live cells!");
+        break;
+      }
+    }
+    double seconds = (System.nanoTime() - start) / 1.0e9;
+    if (recorder != null) {
+      recorder.close();
+    }
+
+    System.out.println(String.format("%s generations in %.3f s (%.1f generations/s), seed=%s",
+        generations, seconds, generations / seconds, seed));
+    System.out.println(String.format("Alive: %s, Dead: %s, Sugar: %s",
+        world.countLiveCells(), world.countDeadCells(), world.getTotalSugar()));
+    if (Instruments.isEnabled()) {
+      System.out.print(Instruments.report());
+    }
+  }
+
+  static Properties readSettings(String[] args) throws IOException {
+    Properties overrides = new Properties();
+    for (int i = 0; i < args.length; i++) {
+      if (!args[i].startsWith("--") || i + 1 >= args.length) {
+        throw new IllegalArgumentException("Expected --<setting> <value>, got: " + args[i]);
+      }
+      overrides.setProperty(args[i].substring(2), args[++i]);
+    }
+    Properties settings = new Properties();
+    if (overrides.containsKey(CONFIG)) {
+      try (InputStream in = new FileInputStream(overrides.getProperty(CONFIG))) {
+        settings.load(in);
+      }
+    }
+    settings.putAll(overrides);
+    return settings;
+  }
+}
@@ -1,39 +1,238 @@
 package edu.lexaron.simulation;
 
+import edu.lexaron.cells.Breed;
 import edu.lexaron.cells.Cell;
+import edu.lexaron.world.CellStore;
+import edu.lexaron.world.Instruments;
+import edu.lexaron.world.Instruments.Phase;
 import edu.lexaron.world.World;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 /**
- * This class allows each live {@link Cell} to live by running each {@link Cell}´s {@link Cell#live(World)} method.
+ * This class allows each live {@link Cell} to live by running the parts of each {@link Cell}´s life, see
+ * {@link BreedKernels}.
  * Apart from that, newborn {@link Cell}s are added into the {@link World} while corpses that were consumed are removed
- * from it.
+ * from it. If the last member of a {@link Breed} dies, a new default member is created and inserted into the
+ * {@link World}.
+ * <p>
+ * The {@link World} is cut into horizontal strips. A {@link Cell} whose {@link Cell#getReach()} lies entirely within its
+ * strip cannot touch anything another strip touches, so with more than one thread all strips are simulated
+ * concurrently on a {@link ForkJoinPool}; with a single thread they are simulated one after the other. The remaining
+ * {@link Cell}s, those near a strip or world edge, live afterwards in a sequential boundary phase. Results depend on
+ * the strip height, but not on the number of threads or their timing. Sleeping {@link Cell}s near a strip or world
+ * edge catch up before the strips start, as catching up touches their surroundings; see {@link Cell#settle(World)}.
+ * <p>
+ * Which {@link Cell}s live in a tick is up to the {@link Scheduler}, which can let quiet {@link Cell}s sleep.
+ * {@link Cell}s live one {@link Breed} after the other, each {@link Breed} through a loop of its own, see
+ * {@link BreedKernels}.
+ * <p>
+ * While {@link Instruments} are on, every tick is timed as a whole and in its {@link Phase}s.
  *
  * Author: Mirza Suljić <mirza.suljic.ba@gmail.com>
  * Date: 03.06.2016
  */
 public class Life implements Runnable {
-  private final World world;
+  static final int DEFAULT_STRIP_HEIGHT = 128;
+  // keeps strips aligned with the blocks of the world's indices
+  private static final int STRIP_ALIGNMENT = 64;
+
+  private final World        world;
+  private final ForkJoinPool pool;
+  private final int          stripHeight;
+  private final Scheduler    scheduler;
+  private Recorder           recorder;
+  private int                births, eaten;
 
   Life(World world) {
+    this(world, 1, DEFAULT_STRIP_HEIGHT, false);
+  }
+
+  /**
+   * @param world       where the {@link Cell}s live
+   * @param threads     how many threads simulate the strips, 1 simulates them one after the other
+   * @param stripHeight height of one strip in tiles, rounded up to a multiple of 64
+   * @param sleep       whether or not quiet {@link Cell}s may sleep, which changes the results, see {@link Scheduler}
+   */
+  Life(World world, int threads, int stripHeight, boolean sleep) {
     this.world = world;
+    this.scheduler = new Scheduler(sleep);
+    this.pool = threads > 1 ? new ForkJoinPool(threads) : null;
+    this.stripHeight = Math.max(1, (stripHeight + STRIP_ALIGNMENT - 1) / STRIP_ALIGNMENT) * STRIP_ALIGNMENT;
+  }
+
+  /**
+   * @param recorder records every tick from now on, {@code null} to stop recording
+   */
+  void setRecorder(Recorder recorder) {
+    this.recorder = recorder;
+  }
+
+  /**
+   * Queues one default member of each {@link Breed} for insertion into the {@link World}.
+   */
+  void seedCells() {
+    for (Breed breed : Breed.values()) {
+      world.getNewBornCells().add(breed.spawn(world));
+    }
   }
 
   private void allLiveCellsHunt() {
-    world.getAllCells().addAll(world.getNewBornCells());
-    world.getNewBornCells().forEach(cell -> world.getWorld()[cell.getY()][cell.getX()].setCell(cell));
+    long start = Instruments.start();
+    CellStore cells = world.getCells();
+    births = world.getNewBornCells().size();
+    world.getNewBornCells().forEach(cell -> {
+      world.register(cell);
+      world.setCell(cell.getX(), cell.getY(), cell);
+    });
+    cells.addAll(world.getNewBornCells());
     world.getNewBornCells().clear();
+    cells.compact();
 
-    world.getAllCells().removeAll(world.getEatenCorpses());
-    world.getEatenCorpses().forEach(cell -> world.getWorld()[cell.getY()][cell.getX()].setDeadCell(null));
+    eaten = world.getEatenCorpses().size();
+    world.getEatenCorpses().forEach(cell -> {
+      cells.removeDead(cell);
+      world.release(cell);
+    });
     world.getEatenCorpses().clear();
+    Instruments.stop(Phase.BOOKKEEPING, start);
+
+    start = Instruments.start();
+    allLiveCellsHuntInStrips();
+    Instruments.stop(Phase.HUNT, start);
+  }
+
+  private void allLiveCellsHuntInStrips() {
+    int strips = (world.getHeight() + stripHeight - 1) / stripHeight;
+    List<List<Cell>> interior = new ArrayList<>(strips);
+    for (int i = 0; i < strips; i++) {
+      interior.add(new ArrayList<>());
+    }
+    List<Cell> boundary = new ArrayList<>();
+    CellStore cells = world.getCells();
+    for (int i = 0; i < cells.getLiveCount(); i++) {
+      Cell cell = cells.getLive(i);
+      if (!cell.isAlive()) {
+        continue;
+      }
+      int strip = cell.getY() / stripHeight;
+      int reach = cell.getReach();
+      if (cell.getX() - reach >= 0 && cell.getX() + reach < world.getWidth()
+          && cell.getY() - reach >= strip * stripHeight && cell.getY() + reach < Math.min((strip + 1) * stripHeight, world.getHeight())) {
+        interior.get(strip).add(cell);
+      }
+      else {
+        boundary.add(cell);
+        // a strip may settle a sleeper it preys on, which must not touch the tiles of another strip
+        cell.settle(world);
+      }
+    }
+
+    // every interior cell gives birth at most once, so no strip thread has to add a page to the table
+    world.getCellTable().reserve(cells.getLiveCount() - boundary.size());
+
+    List<Set<Cell>> newBornCells = new ArrayList<>(strips);
+    List<Set<Cell>> eatenCorpses = new ArrayList<>(strips);
+    for (int i = 0; i < strips; i++) {
+      newBornCells.add(new LinkedHashSet<>());
+      eatenCorpses.add(new LinkedHashSet<>());
+    }
+    if (pool == null) {
+      for (int i = 0; i < strips; i++) {
+        liveInStrip(interior.get(i), newBornCells.get(i), eatenCorpses.get(i));
+      }
+    }
+    else {
+      pool.invoke(new StripTask(interior, newBornCells, eatenCorpses, 0, strips));
+    }
+    newBornCells.forEach(world.getNewBornCells()::addAll);
+    eatenCorpses.forEach(world.getEatenCorpses()::addAll);
 
-    world.getAllCells().stream().filter(Cell::isAlive).forEach(cell -> cell.live(world));
+    BreedKernels.live(boundary.toArray(new Cell[0]), 0, boundary.size(), world, scheduler);
+  }
+
+  /**
+   * Lets the interior {@link Cell}s of one strip live, births and eaten corpses going into the strip's own buffers.
+   */
+  private void liveInStrip(List<Cell> strip, Set<Cell> newBornCells, Set<Cell> eatenCorpses) {
+    world.bufferLocally(newBornCells, eatenCorpses);
+    try {
+      BreedKernels.live(strip.toArray(new Cell[0]), 0, strip.size(), world, scheduler);
+    }
+    finally {
+      world.bufferLocally(null, null);
+    }
+  }
+
+  private void reviveExtinctBreeds() {
+    Map<Breed, Long> livePopulations = new EnumMap<>(Breed.class);
+    CellStore cells = world.getCells();
+    for (int i = 0; i < cells.getLiveCount(); i++) {
+      livePopulations.merge(cells.getLive(i).getBreed(), cells.getLive(i).isAlive() ? 1L : 0L, Long::sum);
+    }
+    for (int i = 0; i < cells.getDeadCount(); i++) {
+      livePopulations.putIfAbsent(cells.getDead(i).getBreed(), 0L);
+    }
+    livePopulations.forEach((breed, alive) -> {
+      if (alive == 0L && breed != Breed.WEED) { // weeds have always been left to die out
+        world.getNewBornCells().add(breed.spawn(world));
+      }
+    });
   }
 
   @Override
   public void run() {
     synchronized (world) {
+      long start = Instruments.start();
+      int liveBefore = recorder == null ? 0 : world.countLiveCells();
       allLiveCellsHunt();
+      if (world.getCells().anyAlive()) {
+        reviveExtinctBreeds();
+      }
+      world.advanceTick();
+      if (recorder != null) {
+        // cells born during this tick are only inserted during the next one, so the difference is all deaths
+        recorder.record(world, births, liveBefore + births - world.countLiveCells(), eaten);
+      }
+      Instruments.stop(Phase.TICK, start);
+    }
+  }
+
+  /**
+   * Splits a range of strips in halves until single strips remain, idle threads steal the halves of busy ones.
+   */
+  private final class StripTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final List<List<Cell>> interior;
+    private final List<Set<Cell>>  newBornCells, eatenCorpses;
+    private final int from, to;
+
+    private StripTask(List<List<Cell>> interior, List<Set<Cell>> newBornCells, List<Set<Cell>> eatenCorpses, int from, int to) {
+      this.interior = interior;
+      this.newBornCells = newBornCells;
+      this.eatenCorpses = eatenCorpses;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from > 1) {
+        int mid = (from + to) >>> 1;
+        invokeAll(new StripTask(interior, newBornCells, eatenCorpses, from, mid),
+                  new StripTask(interior, newBornCells, eatenCorpses, mid, to));
+      }
+      else {
+        liveInStrip(interior.get(from), newBornCells.get(from), eatenCorpses.get(from));
+      }
     }
   }
 
@@ -1,8 +1,12 @@
 package edu.lexaron.simulation;
 
-import edu.lexaron.cells.*;
+import edu.lexaron.cells.Breed;
+import edu.lexaron.cells.Cell;
+import edu.lexaron.cells.Trait;
+import edu.lexaron.simulation.Frame.BreedSummary;
 import edu.lexaron.world.World;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.control.ProgressBar;
 import javafx.scene.layout.GridPane;
@@ -10,17 +14,16 @@ import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 
 import java.text.DecimalFormat;
+import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.List;
 import java.util.stream.Stream;
 
 /**
- * This class looks at average values of a entire {@link Breed}.
- * While the {@link Monitor} is looking at the {@link Breed}s, it is in a good position to see a {@link Breed}'s
- * population and thus, if the last member of a {@link Breed} dies, a new default member is created and inserted into the
- * {@link World}.
+ * This class looks at average values of a entire {@link Breed}, and below each at its 5th, 50th and 95th percentile.
+ * <p>
+ * The {@link GridPane} of each {@link Breed} is built the first time the {@link Breed} shows up and kept from then on;
+ * refreshing only changes texts and progress, and reorders the {@link GridPane}s when the order by live count changes.
  *
  * @author Mirza Suljić <mirza.suljic.ba@gmail.com>
  * Date & time: Jun 2, 2016, 9:15:14 PM
@@ -28,99 +31,127 @@ import java.util.stream.Stream;
  * Refactored: 24.04.2018
  */
 class Monitor {
-  private Monitor() {}
+  private static final Breed[] BREEDS = Breed.values();
+
+  private final VBox          infoPanel;
+  private final BreedPanel[]  panels = new BreedPanel[BREEDS.length];
+  private final List<Node>    order  = new ArrayList<>();
+  private final Label         done   = new Label("No live cells!");
+  private final DecimalFormat df     = new DecimalFormat("0.00");
 
   /**
-   * Adds {@link GridPane}s into a {@link VBox}.
-   * Each {@link GridPane} contains information about each {@link Breed}.
-   *
-   * @param world     where the {@link Cell}s live
    * @param infoPanel container of each {@link Breed}s {@link GridPane}
    */
-  @SuppressWarnings ({"ConstantConditions", "MagicNumber"})
-  static void refreshCellInformation(World world, VBox infoPanel) {
-    infoPanel.getChildren().clear();
-
-    DecimalFormat df = new DecimalFormat("0.00");
-    Map<Breed, Set<Cell>> breedPopulations = world.getAllCells().stream().collect(Collectors.groupingBy(Cell::getBreed, Collectors.toSet()));
-
-    breedPopulations.keySet().stream()
-        .sorted(Comparator.comparingLong(breed -> breedPopulations.get(breed).stream().filter(Cell::isAlive).count()).reversed())
-        .forEach(sortedBreed -> {
-          reviveIfExtinct(world, sortedBreed, breedPopulations);
-
-          Label countLive_L     = new Label(                         breedPopulations.get(sortedBreed).stream().filter(Cell::isAlive).count() + " " + sortedBreed);
-          Label avgZoC_L        = new Label("FoV : " + df.format(breedPopulations.get(sortedBreed).stream().filter(Cell::isAlive).mapToDouble(Cell::getVision)    .average().orElse(0.0)));
-          Label avgEfficiency_L = new Label("Eff.: " + df.format(breedPopulations.get(sortedBreed).stream().filter(Cell::isAlive).mapToDouble(Cell::getEfficiency).average().orElse(0.0)));
-          Label avgSpeed_L      = new Label("Spd.: " + df.format(breedPopulations.get(sortedBreed).stream().filter(Cell::isAlive).mapToDouble(Cell::getSpeed)     .average().orElse(0.0)));
-          Label avgBite_L       = new Label("Bite: " + df.format(breedPopulations.get(sortedBreed).stream().filter(Cell::isAlive).mapToDouble(Cell::getBiteSize)  .average().orElse(0.0)));
-//          Label avgMutationSpeed_L = new Label("Mut.: " + df.format(breedPopulations.get(sortedBreed).stream().filter(Cell::isAlive).mapToDouble(Cell::getMutationStepSizeMultiplier).average().orElse(0.0)));
-          countLive_L.setTextFill(Color.web(sortedBreed.getColorCode()));
-          applyStyleClass("bigText", countLive_L);
-          applyStyleClass("accentText", avgZoC_L, avgEfficiency_L, avgSpeed_L, avgBite_L);
-
-          ProgressBar avgEne_PB = new ProgressBar();
-          avgEne_PB.setMinWidth(200.0);
-          avgEne_PB.setProgress(breedPopulations.get(sortedBreed).stream().filter(Cell::isAlive).mapToDouble(Cell::getEnergy).average().orElse(0.0) / 100.0);
-
-          GridPane grid = new GridPane();
-          grid.setMinWidth(150.0);
-          grid.setHgap(5.0);
-          grid.setAlignment(Pos.CENTER);
-          grid.getStyleClass().addAll("backgroundColorAccent", "accentText");
-          grid.add(countLive_L, 0, 0, 2, 1);
-          grid.add(avgZoC_L   , 0, 1);  grid.add(avgEfficiency_L, 1, 1);
-          grid.add(avgBite_L  , 0, 2);  grid.add(avgSpeed_L     , 1, 2);
-//          grid.add(avgMutationSpeed_L, 0, 3, 2, 1);
-          grid.add(avgEne_PB  , 0, 4, 2, 1);
-
-          infoPanel.getChildren().add(grid);
-        });
+  Monitor(VBox infoPanel) {
+    this.infoPanel = infoPanel;
+    done.getStyleClass().addAll("accentText", "biggerText");
+  }
+
+  /**
+   * Shows the information about each {@link Breed} of the provided {@link Frame}.
+   *
+   * @param frame the latest {@link Frame} of the {@link World} where the {@link Cell}s live
+   */
+  void refresh(Frame frame) {
+    List<BreedSummary> summaries = new ArrayList<>(BREEDS.length);
+    for (Breed breed : BREEDS) {
+      BreedSummary summary = frame.getBreedSummary(breed);
+      if (summary != null) {
+        summaries.add(summary);
+      }
+    }
+    summaries.sort(Comparator.comparingInt(BreedSummary::getLive).reversed());
+
+    order.clear();
+    for (BreedSummary summary : summaries) {
+      int breed = summary.getBreed().ordinal();
+      if (panels[breed] == null) {
+        panels[breed] = new BreedPanel(summary.getBreed());
+      }
+      panels[breed].update(summary);
+      order.add(panels[breed].grid);
+    }
+    show(order);
+  }
+
+  /**
+   * Replaces the information about each {@link Breed} with a notice that none of them is left.
+   */
+  void showExtinct() {
+    order.clear();
+    order.add(done);
+    show(order);
+  }
+
+  private void show(List<Node> nodes) {
+    if (!infoPanel.getChildren().equals(nodes)) {
+      infoPanel.getChildren().setAll(nodes);
+    }
   }
 
   private static void applyStyleClass(String styleClass, Label... labels) {
     Stream.of(labels).forEach(label -> label.getStyleClass().add(styleClass));
   }
 
-  private static void reviveIfExtinct(World world, Breed breed, Map<Breed, Set<Cell>> population) {
-    // todo Mirza : get rid of this SWITCH
-    switch (breed) {
-      case HUNT_CLOSEST:
-        if (population.get(Breed.HUNT_CLOSEST).stream().noneMatch(Cell::isAlive)) {
-          world.getNewBornCells().add(new HuntClosest(world));
-        }
-        break;
-      case HUNT_FIRST:
-        if (population.get(Breed.HUNT_FIRST).stream().noneMatch(Cell::isAlive)) {
-          world.getNewBornCells().add(new HuntFirst(world));
-        }
-        break;
-      case HUNT_MAX:
-        if (population.get(Breed.HUNT_MAX).stream().noneMatch(Cell::isAlive)) {
-          world.getNewBornCells().add(new HuntMax(world));
-        }
-        break;
-      case LEECH:
-        if (population.get(Breed.LEECH).stream().noneMatch(Cell::isAlive)) {
-          world.getNewBornCells().add(new Leech(world));
-        }
-        break;
-      case SPIDER:
-        if (population.get(Breed.SPIDER).stream().noneMatch(Cell::isAlive)) {
-          world.getNewBornCells().add(new Spider(world));
-        }
-        break;
-      case TREE:
-        if (population.get(Breed.TREE).stream().noneMatch(Cell::isAlive)) {
-          world.getNewBornCells().add(new Tree(world));
-        }
-        break;
-      case VULTURE:
-        if (population.get(Breed.VULTURE).stream().noneMatch(Cell::isAlive)) {
-          world.getNewBornCells().add(new Vulture(world));
-        }
-        break;
+  /**
+   * The {@link GridPane} of one {@link Breed}.
+   */
+  private final class BreedPanel {
+    private final GridPane    grid          = new GridPane();
+    private final Label       countLive_L   = new Label();
+    private final Label       vision_L      = new Label();
+    private final Label       efficiency_L  = new Label();
+    private final Label       speed_L       = new Label();
+    private final Label       bite_L        = new Label();
+    private final Label       visionQ_L     = new Label();
+    private final Label       efficiencyQ_L = new Label();
+    private final Label       speedQ_L      = new Label();
+    private final Label       biteQ_L       = new Label();
+    private final ProgressBar energy_PB     = new ProgressBar();
+
+    @SuppressWarnings ({"MagicNumber"})
+    private BreedPanel(Breed breed) {
+      countLive_L.setTextFill(Color.web(breed.getColorCode()));
+      applyStyleClass("bigText", countLive_L);
+      applyStyleClass("accentText", vision_L, efficiency_L, speed_L, bite_L);
+      applyStyleClass("smallText", visionQ_L, efficiencyQ_L, speedQ_L, biteQ_L);
+      energy_PB.setMinWidth(200.0);
+
+      grid.setMinWidth(150.0);
+      grid.setHgap(5.0);
+      grid.setAlignment(Pos.CENTER);
+      grid.getStyleClass().addAll("backgroundColorAccent", "accentText");
+      grid.add(countLive_L, 0, 0, 2, 1);
+      grid.add(vision_L   , 0, 1);  grid.add(efficiency_L , 1, 1);
+      grid.add(visionQ_L  , 0, 2);  grid.add(efficiencyQ_L, 1, 2);
+      grid.add(bite_L     , 0, 3);  grid.add(speed_L      , 1, 3);
+      grid.add(biteQ_L    , 0, 4);  grid.add(speedQ_L     , 1, 4);
+      grid.add(energy_PB  , 0, 5, 2, 1);
+    }
+
+    @SuppressWarnings ({"MagicNumber"})
+    private void update(BreedSummary summary) {
+      countLive_L  .setText(summary.getLive() + " " + summary.getBreed());
+      vision_L     .setText("FoV : " + format(summary, Trait.VISION));
+      efficiency_L .setText("Eff.: " + format(summary, Trait.EFFICIENCY));
+      speed_L      .setText("Spd.: " + format(summary, Trait.SPEED));
+      bite_L       .setText("Bite: " + format(summary, Trait.BITE_SIZE));
+      visionQ_L    .setText(formatQuantiles(summary, Trait.VISION));
+      efficiencyQ_L.setText(formatQuantiles(summary, Trait.EFFICIENCY));
+      speedQ_L     .setText(formatQuantiles(summary, Trait.SPEED));
+      biteQ_L      .setText(formatQuantiles(summary, Trait.BITE_SIZE));
+      energy_PB    .setProgress(summary.getAverageEnergy() / 100.0);
     }
-  }
 
+    @SuppressWarnings ({"MagicNumber"})
+    private String formatQuantiles(BreedSummary summary, Trait trait) {
+      return df.format(summary.getQuantile(trait, 0.05)) + " / "
+           + df.format(summary.getQuantile(trait, 0.50)) + " / "
+           + df.format(summary.getQuantile(trait, 0.95));
+    }
+
+    private String format(BreedSummary summary, Trait trait) {
+      return df.format(summary.getMean(trait)) + " ± " + df.format(summary.getStandardDeviation(trait));
+    }
+  }
 }
@@ -0,0 +1,318 @@
+package edu.lexaron.simulation;
+
+import edu.lexaron.cells.Breed;
+import edu.lexaron.cells.BreedStatistics;
+import edu.lexaron.cells.Trait;
+import edu.lexaron.world.World;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records one row of metrics per tick: the tick, total sugar, births, deaths and corpses eaten during the tick, then
+ * the live population of each {@link Breed} and the mean of each {@link Trait} per {@link Breed}.
+ * <p>
+ * Rows are kept in memory at several resolutions, each in a ring of preallocated arrays, one per column. Level 0 holds
+ * the latest ticks one row each; every {@link #DOWNSAMPLING} rows of a level make one row of the next, so older history
+ * is kept at coarser resolution in the same space. A downsampled row sums births, deaths and corpses eaten, averages
+ * everything else and carries the tick of its last row.
+ * <p>
+ * With a path, every row of level 0 is also written to {@code <path>.csv} and {@code <path>.bin}, a block of rows at
+ * a time, by a background thread. The binary file starts with the magic number {@code 0x43535453}, a version, the
+ * number of columns and the name and type (0 int, 1 long, 2 double) of each; every block that follows is its number of
+ * rows and then all values of one column after the other.
+ *
+ * Date: 17.10.2026.
+ */
+final class Recorder implements Closeable {
+  static final int DEFAULT_CAPACITY = 4096;
+  static final int LEVELS           = 4;
+  static final int DOWNSAMPLING     = 16;
+
+  private static final int     MAGIC      = 0x43535453;
+  private static final int     VERSION    = 1;
+  private static final int     BLOCK_ROWS = 1024;
+  private static final Breed[] BREEDS     = Breed.values();
+  private static final Trait[] TRAITS     = Trait.values();
+  private static final int TICK = 0, SUGAR = 1, BIRTHS = 2, DEATHS = 3, EATEN = 4, LIVE = 5, MEANS = LIVE + BREEDS.length;
+
+  private final String[]     names;
+  private final Kind[]       kinds;
+  private final int          capacity;
+  private final double[][][] rows;    // [level][column][slot]
+  private final int[]        size, next;
+  private final double[][]   pending; // [level][column], rows summed up for the level
+  private final int[]        pendingRows;
+  private final double[]     row;
+
+  private final ExecutorService  writer;
+  private final DataOutputStream binary;
+  private final Writer           csv;
+  private int                    unwritten;
+  private volatile IOException   failure;
+
+  /**
+   * @param capacity number of rows per level
+   * @param path     where to write the rows to, without extension, or {@code null} to keep them in memory only
+   */
+  Recorder(int capacity, Path path) throws IOException {
+    int columns = MEANS + BREEDS.length * TRAITS.length;
+    names = new String[columns];
+    kinds = new Kind[columns];
+    column(TICK,   "tick",          Kind.TICK);
+    column(SUGAR,  "sugar",         Kind.SUGAR);
+    column(BIRTHS, "births",        Kind.EVENTS);
+    column(DEATHS, "deaths",        Kind.EVENTS);
+    column(EATEN,  "corpses_eaten", Kind.EVENTS);
+    for (Breed breed : BREEDS) {
+      column(LIVE + breed.ordinal(), "live_" + breed.name().toLowerCase(), Kind.POPULATION);
+      for (Trait trait : TRAITS) {
+        column(mean(breed, trait), breed.name().toLowerCase() + "_" + trait.name().toLowerCase(), Kind.MEAN);
+      }
+    }
+
+    this.capacity = capacity;
+    rows        = new double[LEVELS][columns][capacity];
+    size        = new int[LEVELS];
+    next        = new int[LEVELS];
+    pending     = new double[LEVELS][columns];
+    pendingRows = new int[LEVELS];
+    row         = new double[columns];
+
+    if (path == null) {
+      writer = null;
+      binary = null;
+      csv    = null;
+    }
+    else {
+      writer = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "recorder");
+        thread.setDaemon(true);
+        return thread;
+      });
+      binary = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(Paths.get(path + ".bin"))));
+      csv    = Files.newBufferedWriter(Paths.get(path + ".csv"), StandardCharsets.UTF_8);
+      writeHeaders();
+    }
+  }
+
+  private void column(int column, String name, Kind kind) {
+    names[column] = name;
+    kinds[column] = kind;
+  }
+
+  private static int mean(Breed breed, Trait trait) {
+    return MEANS + breed.ordinal() * TRAITS.length + trait.ordinal();
+  }
+
+  /**
+   * Records the tick the {@link World} just finished. Call it while no {@link edu.lexaron.cells.Cell} lives, as the
+   * statistics of each {@link Breed} are read without a {@link BreedStatistics#snapshot()}.
+   *
+   * @param world  where the tick took place
+   * @param births {@link edu.lexaron.cells.Cell}s inserted during the tick
+   * @param deaths {@link edu.lexaron.cells.Cell}s which died during the tick
+   * @param eaten  corpses removed during the tick
+   */
+  void record(World world, int births, int deaths, int eaten) {
+    row[TICK]   = world.getTick();
+    row[SUGAR]  = world.getTotalSugar();
+    row[BIRTHS] = births;
+    row[DEATHS] = deaths;
+    row[EATEN]  = eaten;
+    for (Breed breed : BREEDS) {
+      row[LIVE + breed.ordinal()] = world.countLiveCells(breed);
+      BreedStatistics statistics = world.getCellTable().getStatistics(breed);
+      for (Trait trait : TRAITS) {
+        row[mean(breed, trait)] = statistics.getMean(trait);
+      }
+    }
+    append(0, row);
+    if (writer != null && ++unwritten == Math.min(BLOCK_ROWS, capacity)) {
+      write();
+    }
+  }
+
+  private void append(int level, double[] values) {
+    int slot = next[level];
+    for (int column = 0; column < values.length; column++) {
+      rows[level][column][slot] = values[column];
+    }
+    next[level] = (slot + 1) % capacity;
+    size[level] = Math.min(size[level] + 1, capacity);
+
+    if (level + 1 < LEVELS) {
+      double[] sum = pending[level + 1];
+      for (int column = 0; column < values.length; column++) {
+        sum[column] = kinds[column] == Kind.TICK ? values[column] : sum[column] + values[column];
+      }
+      if (++pendingRows[level + 1] == DOWNSAMPLING) {
+        for (int column = 0; column < sum.length; column++) {
+          if (kinds[column].averaged) {
+            sum[column] /= DOWNSAMPLING;
+          }
+        }
+        append(level + 1, sum);
+        Arrays.fill(sum, 0.0);
+        pendingRows[level + 1] = 0;
+      }
+    }
+  }
+
+  /**
+   * @return the names of the columns, in order
+   */
+  String[] getColumns() {
+    return names.clone();
+  }
+
+  /**
+   * @param level 0 for one row per tick, each next level {@link #DOWNSAMPLING} times coarser
+   * @return the number of rows the level holds
+   */
+  int getSize(int level) {
+    return size[level];
+  }
+
+  /**
+   * @param level  0 for one row per tick, each next level {@link #DOWNSAMPLING} times coarser
+   * @param column index into {@link #getColumns()}
+   * @param row    0 for the oldest row the level holds
+   * @return the value
+   */
+  double get(int level, int column, int row) {
+    if (row < 0 || row >= size[level]) {
+      throw new IndexOutOfBoundsException("Row " + row + " of " + size[level]);
+    }
+    return rows[level][column][(next[level] - size[level] + row + capacity) % capacity];
+  }
+
+  private void writeHeaders() throws IOException {
+    binary.writeInt(MAGIC);
+    binary.writeInt(VERSION);
+    binary.writeInt(names.length);
+    for (int column = 0; column < names.length; column++) {
+      binary.writeUTF(names[column]);
+      binary.writeByte(kinds[column].type);
+    }
+    csv.write(String.join(",", names));
+    csv.write('\n');
+  }
+
+  /**
+   * Hands the unwritten rows of level 0 to the background thread.
+   */
+  private void write() {
+    double[][] block = new double[names.length][unwritten];
+    int first = (next[0] - unwritten + capacity) % capacity;
+    for (int column = 0; column < names.length; column++) {
+      for (int i = 0; i < unwritten; i++) {
+        block[column][i] = rows[0][column][(first + i) % capacity];
+      }
+    }
+    unwritten = 0;
+    writer.execute(() -> {
+      if (failure == null) {
+        try {
+          writeBlock(block);
+        }
+        catch (IOException e) {
+          failure = e;
+        }
+      }
+    });
+  }
+
+  private void writeBlock(double[][] block) throws IOException {
+    int count = block[0].length;
+    binary.writeInt(count);
+    for (int column = 0; column < block.length; column++) {
+      for (int i = 0; i < count; i++) {
+        kinds[column].write(binary, block[column][i]);
+      }
+    }
+    StringBuilder line = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      line.setLength(0);
+      for (int column = 0; column < block.length; column++) {
+        if (column > 0) {
+          line.append(',');
+        }
+        if (kinds[column] == Kind.MEAN) {
+          line.append(block[column][i]);
+        }
+        else {
+          line.append((long) block[column][i]);
+        }
+      }
+      csv.write(line.append('\n').toString());
+    }
+  }
+
+  /**
+   * Writes the remaining rows and closes the files; the rows in memory can still be read.
+   */
+  @Override
+  public void close() throws IOException {
+    if (writer == null) {
+      return;
+    }
+    if (unwritten > 0) {
+      write();
+    }
+    writer.shutdown();
+    try {
+      writer.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while writing", e);
+    }
+    finally {
+      binary.close();
+      csv.close();
+    }
+    if (failure != null) {
+      throw new IOException("Could not write the recorded rows", failure);
+    }
+  }
+
+  /**
+   * What a column holds, how it is downsampled and how it is written.
+   */
+  private enum Kind {
+    TICK      (false, 0),
+    SUGAR     (true,  1),
+    EVENTS    (false, 0),
+    POPULATION(true,  0),
+    MEAN      (true,  2);
+
+    private final boolean averaged;
+    private final int     type;
+
+    Kind(boolean averaged, int type) {
+      this.averaged = averaged;
+      this.type     = type;
+    }
+
+    private void write(DataOutputStream out, double value) throws IOException {
+      switch (type) {
+        case 0:  out.writeInt((int) value);   break;
+        case 1:  out.writeLong((long) value); break;
+        default: out.writeDouble(value);      break;
+      }
+    }
+  }
+}
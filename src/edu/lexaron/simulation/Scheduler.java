@@ -0,0 +1,54 @@
+package edu.lexaron.simulation;
+
+import edu.lexaron.cells.Cell;
+import edu.lexaron.world.World;
+
+/**
+ * Decides which {@link Cell}s take part in a tick. A {@link Cell} whose next ticks are quiet, such as a
+ * plant that keeps eating from a tile with plenty of sugar, is put to sleep after it lived:
+ * it skips those ticks and catches up on them at once when it wakes. It wakes when its timer runs out, when something
+ * changes the sugar it feeds on or when another {@link Cell} changes its energy, whichever comes first. Before another
+ * {@link Cell} reads or changes the energy of a sleeper, the sleeper catches up on the ticks it slept through so far.
+ * <p>
+ * Sleeping is off unless asked for. A sleeping plant takes its bites only when it catches up, so until then other
+ * {@link Cell}s see more sugar on its food tile than they would have, and a run with sleepers ends slightly differently
+ * from the same run without them.
+ * <p>
+ * The timer of a sleeping {@link Cell} is a single column of its {@link edu.lexaron.cells.CellTable} row, so checking
+ * whether it is due costs one array read instead of a call to {@link Cell#beginLife(World)}.
+ *
+ * Date: 17.10.2026.
+ */
+final class Scheduler {
+  // shorter naps cost more to set up than they save
+  private static final int MIN_SLEEP = 2;
+  private static final int MAX_SLEEP = 64;
+
+  private final boolean enabled;
+
+  /**
+   * @param enabled whether or not {@link Cell}s may sleep
+   */
+  Scheduler(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * @return whether or not the provided {@link Cell} lives during the current tick
+   */
+  boolean isDue(Cell cell, World world) {
+    return cell.isAlive() && !cell.isAsleep(world.getTick());
+  }
+
+  /**
+   * Puts the provided {@link Cell}, which just lived, to sleep if its next ticks are quiet.
+   */
+  void rest(Cell cell, World world) {
+    if (enabled) {
+      int quiet = cell.countQuietTicks(world, MAX_SLEEP);
+      if (quiet >= MIN_SLEEP) {
+        cell.sleep(world, quiet);
+      }
+    }
+  }
+}
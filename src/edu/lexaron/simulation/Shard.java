@@ -0,0 +1,700 @@
+package edu.lexaron.simulation;
+
+import edu.lexaron.cells.Breed;
+import edu.lexaron.cells.Cell;
+import edu.lexaron.cells.CellTransfer;
+import edu.lexaron.world.CellStore;
+import edu.lexaron.world.World;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Simulates one world too large for a single process as several processes, the shards, each owning a horizontal band
+ * of rows. Started without {@code --rank}, it launches one process per shard on this machine and adds up their
+ * results:
+ * <pre>
+ *   --shards 4 --ticks 10000 --width 2000 --height 2000 --sugar 50 --seed 42 --halo 32 --port 47000 --sleep true
+ * </pre>
+ * Each shard simulates its rows plus {@code --halo} rows above and below them, the halo, which mirror the rows of its
+ * neighbours. Shards talk to their neighbours over loopback sockets, the shard of rank {@code r} listening on port
+ * {@code --port + r}. Before every tick, each pair of neighbours exchanges:
+ * <ul>
+ *   <li>the {@link Cell}s which moved or were born into the halo, which move on to the shard owning their row,</li>
+ *   <li>the sugar and trails of every chunk of the rows next to the neighbour which changed since the last exchange,
+ *   see {@link World#isChunkChanged(int)},</li>
+ *   <li>the {@link Cell}s and corpses of those rows.</li>
+ * </ul>
+ * Each shard keeps a mirror of the sugar and trails its neighbours sent, from which it rebuilds the halo.
+ * {@link Cell}s in the halo are stand-ins, see {@link CellTransfer#placeGhost}; they block tiles and can be found, but
+ * never live, and are reused from one exchange to the next. Neither they nor the prototypes they are made from count
+ * towards the {@link Cell}s of the shard's {@link World}, such as {@link World#countLiveCells()}. Whatever a tick does
+ * to the halo, such as eating its sugar or attacking a stand-in, is undone by the next exchange, so a shard sees its
+ * neighbours one tick late and cannot change them. A halo at least as deep as the farthest vision keeps the edges of a
+ * shard from looking any different than the rest of it. The exchange owns the chunk tracking of the shard's
+ * {@link World}, cleaning it every tick.
+ * <p>
+ * Every shard seeds and revives each {@link Breed} on its own, so results differ from those of {@link Headless}, but
+ * do not depend on timing.
+ *
+ * Date: 17.10.2026.
+ */
+public class Shard {
+  private static final String TICKS  = "ticks";
+  private static final String WIDTH  = "width";
+  private static final String HEIGHT = "height";
+  private static final String SUGAR  = "sugar";
+  private static final String SEED   = "seed";
+  private static final String SHARDS = "shards";
+  private static final String RANK   = "rank";
+  private static final String HALO   = "halo";
+  private static final String PORT   = "port";
+  private static final String SLEEP  = "sleep";
+  private static final Pattern RESULT = Pattern.compile("Alive: (\\d+), Dead: (\\d+), Sugar: (\\d+)");
+  private static final long    CONNECT_TIMEOUT = 30_000L;
+
+  private final World world;
+  private final Life  life;
+  private final int   width, globalHeight, firstRow, ownRows, halo;
+  private final Cell[] prototypes = new Cell[Breed.values().length];
+  private final Mirror above, below;
+  private final int[]  changedChunks;
+  private final BitSet taken = new BitSet();
+  // stand-ins on the grid, and those taken off it for reuse, by Breed and then dead or alive
+  private final List<Cell>             ghosts      = new ArrayList<>();
+  private final List<ArrayDeque<Cell>> spareGhosts = new ArrayList<>();
+  // one block of sugar or entries at a time, see writeEntries
+  private final ByteBuffer   bulk;
+  private final DoubleBuffer bulkDoubles;
+  private final IntBuffer    bulkInts;
+  // one chunk of sugar and trails, tile by tile and as entries
+  private final double[]     sugarRows    = new double[World.CHUNK_SIZE * World.CHUNK_SIZE];
+  private final int[]        trailRows    = new int[World.CHUNK_SIZE * World.CHUNK_SIZE];
+  private final byte[]       breedRows    = new byte[World.CHUNK_SIZE * World.CHUNK_SIZE];
+  private final int[]        trailTiles   = new int[World.CHUNK_SIZE * World.CHUNK_SIZE];
+  private final int[]        trailAmounts = new int[World.CHUNK_SIZE * World.CHUNK_SIZE];
+  private final byte[]       trailBreeds  = new byte[World.CHUNK_SIZE * World.CHUNK_SIZE];
+  // the corpses or live Cells of halo rows, as entries
+  private final int[]        placedTiles;
+  private final byte[]       placedBreeds;
+  private Link up, down;
+  private int  lost;
+
+  private Shard(Properties settings, int shards, int rank) {
+    width        = Integer.parseInt(settings.getProperty(WIDTH, "600"));
+    globalHeight = Integer.parseInt(settings.getProperty(HEIGHT, "400"));
+    halo         = Integer.parseInt(settings.getProperty(HALO, "32"));
+    int rows = globalHeight / shards;
+    if (shards < 2 || rows < halo) {
+      throw new IllegalArgumentException(String.format(
+          "Expected at least 2 shards of at least %s rows each, got %s shards of %s rows", halo, shards, rows));
+    }
+    firstRow = rank * rows;
+    ownRows  = rank == shards - 1 ? globalHeight - firstRow : rows;
+
+    // every shard draws its own seed from the simulation-wide one
+    SplittableRandom seeds = new SplittableRandom(Long.parseLong(settings.getProperty(SEED)));
+    for (int i = 0; i < rank; i++) {
+      seeds.nextLong();
+    }
+    world = new World(width, ownRows + 2 * halo, seeds.nextLong());
+    life  = new Life(world, 1, Life.DEFAULT_STRIP_HEIGHT, Boolean.parseBoolean(settings.getProperty(SLEEP, "false")));
+    world.generateWorld(Double.parseDouble(settings.getProperty(SUGAR, "50")));
+    life.seedCells();
+    for (Breed breed : Breed.values()) {
+      prototypes[breed.ordinal()] = CellTransfer.createPrototype(world, breed);
+      spareGhosts.add(new ArrayDeque<>());
+      spareGhosts.add(new ArrayDeque<>());
+    }
+    above = new Mirror(0, halo * width);
+    below = new Mirror(halo + ownRows, halo * width);
+    changedChunks = new int[world.getChunksX() * (halo / World.CHUNK_SIZE + 2)];
+    placedTiles   = new int[halo * width];
+    placedBreeds  = new byte[halo * width];
+    bulk          = ByteBuffer.allocate(Math.max(World.CHUNK_SIZE * World.CHUNK_SIZE * Double.BYTES,
+        halo * width * (Integer.BYTES + 1)));
+    bulkDoubles   = bulk.asDoubleBuffer();
+    bulkInts      = bulk.asIntBuffer();
+  }
+
+  public static void main(String[] args) throws IOException, InterruptedException {
+    Properties settings = Headless.readSettings(args);
+    if (!settings.containsKey(SEED)) {
+      settings.setProperty(SEED, String.valueOf(System.nanoTime()));
+    }
+    if (!settings.containsKey(RANK)) {
+      System.exit(launch(settings));
+    }
+
+    int shards = Integer.parseInt(settings.getProperty(SHARDS, "2"));
+    int rank   = Integer.parseInt(settings.getProperty(RANK));
+    int port   = Integer.parseInt(settings.getProperty(PORT, "47000"));
+    int ticks  = Integer.parseInt(settings.getProperty(TICKS, "10000"));
+    Shard shard = new Shard(settings, shards, rank);
+    shard.connect(port, shards, rank);
+    try {
+      long start = System.nanoTime();
+      for (int generation = 0; generation < ticks; generation++) {
+        shard.exchange();
+        shard.life.run();
+      }
+      double seconds = (System.nanoTime() - start) / 1.0e9;
+      System.out.println(String.format("%s generations in %.3f s (%.1f generations/s), rows %s to %s, lost %s",
+          ticks, seconds, ticks / seconds, shard.firstRow, shard.firstRow + shard.ownRows - 1, shard.lost));
+      shard.printResult();
+    }
+    finally {
+      shard.up.close();
+      shard.down.close();
+    }
+  }
+
+  /**
+   * Starts one process per shard with the same settings, passes their output on and sums up their results. As soon as
+   * one shard fails, the others are stopped, since its neighbours would wait for it until they time out.
+   *
+   * @return the exit code, not zero if any shard failed
+   */
+  private static int launch(Properties settings) throws IOException, InterruptedException {
+    int shards = Integer.parseInt(settings.getProperty(SHARDS, "2"));
+    String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+    List<Process> processes = new ArrayList<>(shards);
+    List<Thread>  readers   = new ArrayList<>(shards);
+    long[] totals = new long[3];
+    for (int rank = 0; rank < shards; rank++) {
+      List<String> command = new ArrayList<>();
+      command.add(java);
+      command.add("-cp");
+      command.add(System.getProperty("java.class.path"));
+      command.add(Shard.class.getName());
+      for (String key : settings.stringPropertyNames()) {
+        command.add("--" + key);
+        command.add(settings.getProperty(key));
+      }
+      command.add("--" + RANK);
+      command.add(String.valueOf(rank));
+      Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+      processes.add(process);
+      String prefix = "[shard " + rank + "] ";
+      Thread reader = new Thread(() -> passOn(process, prefix, totals), prefix.trim());
+      reader.start();
+      readers.add(reader);
+    }
+
+    BlockingQueue<Process> exited = new LinkedBlockingQueue<>();
+    for (Process process : processes) {
+      process.onExit().thenAccept(exited::add);
+    }
+    int exitCode = 0;
+    for (int i = 0; i < shards; i++) {
+      int shardExitCode = exited.take().exitValue();
+      if (shardExitCode != 0 && exitCode == 0) {
+        processes.forEach(Process::destroy);
+      }
+      exitCode |= shardExitCode;
+    }
+    for (Thread reader : readers) {
+      reader.join();
+    }
+    System.out.println(String.format("Alive: %s, Dead: %s, Sugar: %s", totals[0], totals[1], totals[2]));
+    return exitCode;
+  }
+
+  private static void passOn(Process process, String prefix, long[] totals) {
+    try (BufferedReader in = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+      for (String line = in.readLine(); line != null; line = in.readLine()) {
+        Matcher result = RESULT.matcher(line);
+        synchronized (totals) {
+          System.out.println(prefix + line);
+          if (result.matches()) {
+            for (int i = 0; i < totals.length; i++) {
+              totals[i] += Long.parseLong(result.group(i + 1));
+            }
+          }
+        }
+      }
+    }
+    catch (IOException e) {
+      System.err.println(prefix + "Could not read the output: " + e);
+    }
+  }
+
+  /**
+   * Links this shard to the one below it and accepts the link from the one above it, which may be the same shard. Gives
+   * up once either takes longer than {@link #CONNECT_TIMEOUT}.
+   */
+  private void connect(int port, int shards, int rank) throws IOException, InterruptedException {
+    try (ServerSocket server = new ServerSocket(port + rank, 1, InetAddress.getLoopbackAddress())) {
+      long deadline = System.currentTimeMillis() + CONNECT_TIMEOUT;
+      while (down == null) {
+        try {
+          down = new Link(new Socket(InetAddress.getLoopbackAddress(), port + (rank + 1) % shards));
+        }
+        catch (ConnectException e) {
+          if (System.currentTimeMillis() > deadline) {
+            throw e;
+          }
+          Thread.sleep(100L);
+        }
+      }
+      server.setSoTimeout((int) CONNECT_TIMEOUT);
+      up = new Link(server.accept());
+    }
+  }
+
+  private boolean isHalo(int y) {
+    return y < halo || y >= halo + ownRows;
+  }
+
+  /**
+   * Swaps the halo with both neighbours, see {@link Shard}.
+   */
+  private void exchange() throws IOException {
+    liftGhosts();
+    ByteArrayOutputStream toUp = new ByteArrayOutputStream(), toDown = new ByteArrayOutputStream();
+    DataOutputStream upOut = new DataOutputStream(toUp), downOut = new DataOutputStream(toDown);
+    emigrate(upOut, downOut);
+    writeRows(upOut, halo);
+    writeRows(downOut, ownRows);
+    upOut.flush();
+    downOut.flush();
+
+    // both ends send before they receive, so sending must not wait for the other end to read
+    Future<?> sentUp = up.send(toUp.toByteArray()), sentDown = down.send(toDown.toByteArray());
+    DataInputStream fromUp = up.receive(), fromDown = down.receive();
+    Link.await(sentUp);
+    Link.await(sentDown);
+
+    restore(above);
+    restore(below);
+    immigrate(fromUp);
+    readRows(fromUp, above);
+    immigrate(fromDown);
+    readRows(fromDown, below);
+    for (ArrayDeque<Cell> spares : spareGhosts) {
+      while (!spares.isEmpty()) {
+        world.release(spares.pop());
+      }
+    }
+    world.cleanChunks();
+  }
+
+  /**
+   * Takes the stand-ins off the grid and keeps those the last tick left untouched for reuse, releasing the others.
+   */
+  private void liftGhosts() {
+    for (Cell ghost : ghosts) {
+      if (world.getCell(ghost.getX(), ghost.getY()) == ghost) {
+        world.setCell(ghost.getX(), ghost.getY(), null);
+      }
+      if (world.getDeadCell(ghost.getX(), ghost.getY()) == ghost) {
+        world.setDeadCell(ghost.getX(), ghost.getY(), null);
+      }
+      int breed = ghost.getBreed().ordinal();
+      if (ghost.getEnergy() == prototypes[breed].getEnergy()) {
+        spareGhosts.get(2 * breed + (ghost.isAlive() ? 1 : 0)).push(ghost);
+      }
+      else {
+        world.release(ghost);
+      }
+    }
+    ghosts.clear();
+  }
+
+  private void placeGhost(int breed, int x, int y, boolean alive) {
+    ArrayDeque<Cell> spares = spareGhosts.get(2 * breed + (alive ? 1 : 0));
+    if (spares.isEmpty()) {
+      ghosts.add(CellTransfer.placeGhost(world, prototypes[breed], x, y, alive));
+    }
+    else {
+      Cell ghost = spares.pop();
+      CellTransfer.moveGhost(world, ghost, x, y);
+      ghosts.add(ghost);
+    }
+  }
+
+  /**
+   * Sends every live {@link Cell} of the halo, newborns included, to the shard owning its row and drops the corpses of
+   * the halo, which belong to the neighbours as well.
+   */
+  private void emigrate(DataOutputStream upOut, DataOutputStream downOut) throws IOException {
+    CellStore cells = world.getCells();
+    cells.compact();
+    List<Cell> leaving = new ArrayList<>(), unborn = new ArrayList<>();
+    cells.removeLiveIf(cell -> isHalo(cell.getY()) && leaving.add(cell));
+    world.getNewBornCells().removeIf(cell -> isHalo(cell.getY()) && unborn.add(cell));
+    world.getEatenCorpses().removeIf(cell -> isHalo(cell.getY()));
+    leaving.addAll(unborn);
+
+    int upward = 0;
+    for (Cell cell : leaving) {
+      upward += cell.getY() < halo ? 1 : 0;
+    }
+    upOut.writeInt(upward);
+    downOut.writeInt(leaving.size() - upward);
+    for (Cell cell : leaving) {
+      DataOutputStream out = cell.getY() < halo ? upOut : downOut;
+      out.writeInt(cell.getX());
+      out.writeInt(Math.floorMod(firstRow - halo + cell.getY(), globalHeight));
+      CellTransfer.write(cell, out);
+      if (world.getCell(cell.getX(), cell.getY()) == cell) {
+        world.setCell(cell.getX(), cell.getY(), null);
+      }
+      world.release(cell);
+    }
+    // newborns are not registered yet, so releasing them through the world does nothing
+    unborn.forEach(Cell::releaseState);
+
+    List<Cell> corpses = new ArrayList<>();
+    for (int i = 0; i < cells.getDeadCount(); i++) {
+      if (isHalo(cells.getDead(i).getY())) {
+        corpses.add(cells.getDead(i));
+      }
+    }
+    for (Cell corpse : corpses) {
+      cells.removeDead(corpse);
+      world.release(corpse);
+    }
+  }
+
+  /**
+   * Queues the arriving {@link Cell}s for insertion on their tile, or on a free neighbour if a {@link Cell} of this
+   * shard took it in the meantime. {@link Cell}s finding no free tile are lost.
+   */
+  private void immigrate(DataInputStream in) throws IOException {
+    taken.clear();
+    for (int i = in.readInt(); i > 0; i--) {
+      int x = in.readInt();
+      int y = Math.max(halo, Math.min(halo + ownRows - 1, Math.floorMod(in.readInt() - firstRow + halo, globalHeight)));
+      int tile = findFreeTile(x, y);
+      if (tile == World.NO_TILE) {
+        CellTransfer.read(in, world, x, y).releaseState();
+        lost++;
+      }
+      else {
+        taken.set(tile);
+        world.getNewBornCells().add(CellTransfer.read(in, world, tile % width, tile / width));
+      }
+    }
+  }
+
+  private int findFreeTile(int x, int y) {
+    for (int dy = 0; dy <= 2; dy++) {
+      for (int dx = 0; dx <= 2; dx++) {
+        // the tile itself first, then its neighbours
+        int nx = Math.floorMod(x + (dx + 1) % 3 - 1, width), ny = y + (dy + 1) % 3 - 1;
+        if (!isHalo(ny) && world.getCell(nx, ny) == null && !taken.get(world.getTileIndex(nx, ny))) {
+          return world.getTileIndex(nx, ny);
+        }
+      }
+    }
+    return World.NO_TILE;
+  }
+
+  /**
+   * Finds the chunks overlapping {@link #halo} rows, starting at the provided one, which changed since the last
+   * exchange.
+   *
+   * @return the number of chunks found, now at the start of {@link #changedChunks}
+   */
+  private int findChangedChunks(int from) {
+    int found = 0, chunksX = world.getChunksX();
+    for (int chunkY = from / World.CHUNK_SIZE; chunkY <= (from + halo - 1) / World.CHUNK_SIZE; chunkY++) {
+      for (int chunkX = 0; chunkX < chunksX; chunkX++) {
+        if (world.isChunkChanged(chunkY * chunksX + chunkX)) {
+          changedChunks[found++] = chunkY * chunksX + chunkX;
+        }
+      }
+    }
+    return found;
+  }
+
+  /**
+   * Writes what the neighbour needs to mirror {@link #halo} rows, starting at the provided one: the sugar and trails
+   * of every chunk which changed since the last exchange, each cut to the rows, then the corpses and live
+   * {@link Cell}s of the rows.
+   */
+  private void writeRows(DataOutputStream out, int from) throws IOException {
+    int to = from + halo, chunks = findChangedChunks(from);
+    out.writeInt(chunks);
+    for (int i = 0; i < chunks; i++) {
+      int chunkX = changedChunks[i] % world.getChunksX(), chunkY = changedChunks[i] / world.getChunksX();
+      int x0 = chunkX * World.CHUNK_SIZE, w = Math.min(width, x0 + World.CHUNK_SIZE) - x0;
+      int y0 = Math.max(from, chunkY * World.CHUNK_SIZE), h = Math.min(to, (chunkY + 1) * World.CHUNK_SIZE) - y0;
+      out.writeInt(x0);
+      out.writeInt(y0 - from);
+      out.writeInt(w);
+      out.writeInt(h);
+      for (int y = y0; y < y0 + h; y++) {
+        world.copySugar(world.getTileIndex(x0, y), sugarRows, (y - y0) * w, w);
+      }
+      bulkDoubles.clear();
+      bulkDoubles.put(sugarRows, 0, w * h);
+      out.write(bulk.array(), 0, w * h * Double.BYTES);
+
+      int trails = 0;
+      for (int y = y0; y < y0 + h; y++) {
+        for (int x = x0; x < x0 + w; x++) {
+          int amount = world.getTrailAmount(x, y);
+          Cell source = amount > 0 ? world.getTrailSource(x, y) : null;
+          if (source != null) {
+            trailTiles[trails]    = (y - y0) * w + x - x0;
+            trailAmounts[trails]  = amount;
+            trailBreeds[trails++] = (byte) source.getBreed().ordinal();
+          }
+        }
+      }
+      writeEntries(out, trails, trailTiles, trailAmounts, trailBreeds);
+    }
+    writePlaced(out, from, false);
+    writePlaced(out, from, true);
+  }
+
+  /**
+   * Writes the corpses or live {@link Cell}s placed on {@link #halo} rows, starting at the provided one, as listed by
+   * the grid, which skips the tiles and {@link Cell}s elsewhere.
+   */
+  private void writePlaced(DataOutputStream out, int from, boolean alive) throws IOException {
+    int placed = world.listOccupiedTiles(from, halo, alive, placedTiles);
+    for (int i = 0; i < placed; i++) {
+      int tile = placedTiles[i], x = tile % width, y = tile / width;
+      placedTiles[i]  = tile - from * width;
+      placedBreeds[i] = (byte) (alive ? world.getCell(x, y) : world.getDeadCell(x, y)).getBreed().ordinal();
+    }
+    writeEntries(out, placed, placedTiles, null, placedBreeds);
+  }
+
+  /**
+   * Writes the first entries of the provided columns as one block: their number, then each column in turn.
+   *
+   * @param amounts a column of amounts, or null if the entries have none
+   */
+  private void writeEntries(DataOutputStream out, int count, int[] tiles, int[] amounts, byte[] breeds)
+      throws IOException {
+    int ints = amounts == null ? count : 2 * count;
+    out.writeInt(count);
+    bulkInts.clear();
+    bulkInts.put(tiles, 0, count);
+    if (amounts != null) {
+      bulkInts.put(amounts, 0, count);
+    }
+    bulk.clear();
+    bulk.position(ints * Integer.BYTES);
+    bulk.put(breeds, 0, count);
+    out.write(bulk.array(), 0, bulk.position());
+  }
+
+  /**
+   * Reads a block written by {@link #writeEntries} into the provided columns.
+   *
+   * @param amounts the column of amounts, or null if the entries have none
+   * @return the number of entries read
+   */
+  private int readEntries(DataInputStream in, int[] tiles, int[] amounts, byte[] breeds) throws IOException {
+    int count = in.readInt(), ints = amounts == null ? count : 2 * count;
+    in.readFully(bulk.array(), 0, ints * Integer.BYTES + count);
+    bulkInts.clear();
+    bulkInts.get(tiles, 0, count);
+    if (amounts != null) {
+      bulkInts.get(amounts, 0, count);
+    }
+    bulk.clear();
+    bulk.position(ints * Integer.BYTES);
+    bulk.get(breeds, 0, count);
+    return count;
+  }
+
+  /**
+   * Updates the mirror with rows written by {@link #writeRows}, and the halo rows wherever the mirror changed; run
+   * {@link #restore} first, so that the halo matches the mirror everywhere else. Trails are left by the prototype of
+   * their {@link Breed}.
+   */
+  private void readRows(DataInputStream in, Mirror mirror) throws IOException {
+    for (int i = in.readInt(); i > 0; i--) {
+      int x0 = in.readInt(), y0 = in.readInt(), w = in.readInt(), h = in.readInt();
+      in.readFully(bulk.array(), 0, w * h * Double.BYTES);
+      bulkDoubles.clear();
+      bulkDoubles.get(sugarRows, 0, w * h);
+      Arrays.fill(trailRows, 0, w * h, 0);
+      for (int t = 0, trails = readEntries(in, trailTiles, trailAmounts, trailBreeds); t < trails; t++) {
+        trailRows[trailTiles[t]] = world.getTick() + trailAmounts[t];
+        breedRows[trailTiles[t]] = trailBreeds[t];
+      }
+      for (int y = y0, tile = 0; y < y0 + h; y++) {
+        for (int x = x0, at = y * width + x0; x < x0 + w; x++, at++, tile++) {
+          if (mirror.sugar[at] != sugarRows[tile] || mirror.trailExpiry[at] != trailRows[tile]
+              || (trailRows[tile] != 0 && mirror.trailBreed[at] != breedRows[tile])) {
+            mirror.sugar[at]       = sugarRows[tile];
+            mirror.trailExpiry[at] = trailRows[tile];
+            mirror.trailBreed[at]  = breedRows[tile];
+            mirror.apply(x, y, 1, 1);
+          }
+        }
+      }
+    }
+    for (int i = 0, corpses = readEntries(in, placedTiles, null, placedBreeds); i < corpses; i++) {
+      placeGhost(placedBreeds[i], placedTiles[i] % width, mirror.from + placedTiles[i] / width, false);
+    }
+    for (int i = 0, cells = readEntries(in, placedTiles, null, placedBreeds); i < cells; i++) {
+      placeGhost(placedBreeds[i], placedTiles[i] % width, mirror.from + placedTiles[i] / width, true);
+    }
+  }
+
+  /**
+   * Undoes whatever the last tick did to the sugar and trails of the rows of the mirror, one changed chunk at a time.
+   */
+  private void restore(Mirror mirror) {
+    int chunks = findChangedChunks(mirror.from);
+    for (int i = 0; i < chunks; i++) {
+      int chunkX = changedChunks[i] % world.getChunksX(), chunkY = changedChunks[i] / world.getChunksX();
+      int x0 = chunkX * World.CHUNK_SIZE, w = Math.min(width, x0 + World.CHUNK_SIZE) - x0;
+      int y0 = Math.max(mirror.from, chunkY * World.CHUNK_SIZE);
+      int h  = Math.min(mirror.from + halo, (chunkY + 1) * World.CHUNK_SIZE) - y0;
+      mirror.apply(x0, y0 - mirror.from, w, h);
+    }
+  }
+
+  /**
+   * Prints the {@link Cell}s this shard stores, including those which just moved into the halo, and the sugar of the
+   * rows it owns.
+   */
+  private void printResult() {
+    CellStore cells = world.getCells();
+    int alive = cells.countAlive();
+    int sugar = 0;
+    for (int y = halo; y < halo + ownRows; y++) {
+      for (int x = 0; x < width; x++) {
+        sugar += world.getSugar(x, y);
+      }
+    }
+    System.out.println(String.format("Alive: %s, Dead: %s, Sugar: %s", alive, cells.size() - alive, sugar));
+  }
+
+  /**
+   * The sugar and trails a neighbour last sent for {@link #halo} rows on one side of the shard, one entry per tile.
+   */
+  private final class Mirror {
+    private final int      from;
+    private final double[] sugar;
+    private final int[]    trailExpiry;
+    private final byte[]   trailBreed;
+
+    private Mirror(int from, int tiles) {
+      this.from   = from;
+      sugar       = new double[tiles];
+      trailExpiry = new int[tiles];
+      trailBreed  = new byte[tiles];
+    }
+
+    /**
+     * Copies a rectangle of the mirror onto the halo; unchanged tiles are left alone.
+     *
+     * @param y0 the first row of the rectangle, counted from {@link #from}
+     */
+    private void apply(int x0, int y0, int w, int h) {
+      int tick = world.getTick();
+      for (int y = y0; y < y0 + h; y++) {
+        for (int x = x0; x < x0 + w; x++) {
+          int at = y * width + x, amount = trailExpiry[at] - tick;
+          world.setSugar(world.getTileIndex(x, from + y), sugar[at]);
+          if (amount > 0) {
+            Cell source = prototypes[trailBreed[at]];
+            if (world.getTrailAmount(x, from + y) != amount || world.getTrailSource(x, from + y) != source) {
+              world.setTrail(x, from + y, amount, source);
+            }
+          }
+          else if (world.getTrailAmount(x, from + y) > 0) {
+            world.setTrail(x, from + y, 0, null);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * One socket to a neighbouring shard, carrying one length-prefixed message per tick in either direction.
+   */
+  private static final class Link implements Closeable {
+    private final Socket           socket;
+    private final DataInputStream  in;
+    private final DataOutputStream out;
+    private final ExecutorService  sender = Executors.newSingleThreadExecutor(task -> {
+      Thread thread = new Thread(task, "shard-sender");
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    private Link(Socket socket) throws IOException {
+      this.socket = socket;
+      socket.setTcpNoDelay(true);
+      in  = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+      out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    }
+
+    private Future<?> send(byte[] message) {
+      return sender.submit(() -> {
+        out.writeInt(message.length);
+        out.write(message);
+        out.flush();
+        return null;
+      });
+    }
+
+    private DataInputStream receive() throws IOException {
+      byte[] message = new byte[in.readInt()];
+      in.readFully(message);
+      return new DataInputStream(new ByteArrayInputStream(message));
+    }
+
+    private static void await(Future<?> sent) throws IOException {
+      try {
+        sent.get();
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted while sending", e);
+      }
+      catch (ExecutionException e) {
+        throw new IOException("Could not send", e.getCause());
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      sender.shutdown();
+      socket.close();
+    }
+  }
+}
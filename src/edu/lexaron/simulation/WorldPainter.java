@@ -1,12 +1,17 @@
 package edu.lexaron.simulation;
 
+import edu.lexaron.cells.Breed;
 import edu.lexaron.cells.Cell;
 import edu.lexaron.world.World;
 import javafx.scene.canvas.Canvas;
+import javafx.scene.image.Image;
 import javafx.scene.paint.Color;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 /**
- * This method handles the {@link Canvas} by displaying the current state of the {@link World} and it's {@link Cell}s.
+ * This method handles the {@link Canvas} by displaying a {@link Frame} of the {@link World} and it's {@link Cell}s.
  *
  * Author: Mirza Suljić <mirza.suljic.ba@gmail.com>
  * Date: 22.4.2018.
@@ -16,42 +21,41 @@ class WorldPainter {
   }
 
   private static final double GLOBAL_SCALE  = 2.5;
+  private static final Map<Breed, Image> SPRITES = new EnumMap<>(Breed.class);
+  private static final Map<Breed, Color> COLORS  = new EnumMap<>(Breed.class);
 
-  @SuppressWarnings ({"ImplicitNumericConversion", "MagicNumber"})
-  static void paintWorld(World world, Canvas canvas) {
-    for (int i = 0; i < world.getHeight(); i++) {
-      for (int j = 0; j < world.getWidth(); j++) {
-        world.getWorld()[i][j].getTrail().setAmount(world.getWorld()[i][j].getTrail().getAmount() - 1);
-        if (world.getWorld()[i][j].getSugar().getAmount() < 0) {
-          world.getWorld()[i][j].getSugar().setAmount(0);
-        }
-        canvas.getGraphicsContext2D().setGlobalAlpha(world.getWorld()[i][j].getSugar().getAmount() / 100);
-        canvas.getGraphicsContext2D().setFill(Color.web("#4d9900")); // todo Mirza : consider a GFX for sugar
-        canvas.getGraphicsContext2D().fillRect((j - 0.5) * GLOBAL_SCALE, (i - 0.5) * GLOBAL_SCALE, 5, 5);
-        if (world.getWorld()[i][j].getTrail().getAmount() > 0) {
-          canvas.getGraphicsContext2D().setFill(Color.web(world.getWorld()[i][j].getTrail().getSource().getBreed().getColorCode()));
-          canvas.getGraphicsContext2D().setGlobalAlpha(world.getWorld()[i][j].getTrail().getAmount() / 100.0);
-          canvas.getGraphicsContext2D().fillRect((j - 0.5) * GLOBAL_SCALE, (i - 0.5) * GLOBAL_SCALE, 5, 5);
-        }
-      }
+  static {
+    for (Breed breed : Breed.values()) {
+      COLORS.put(breed, Color.web(breed.getColorCode()));
     }
+  }
+
+  private static Image getSprite(Breed breed) {
+    return SPRITES.computeIfAbsent(breed, b -> new Image(b.getSpritePath()));
+  }
+
+  @SuppressWarnings ("ImplicitNumericConversion")
+  static void paintWorld(Frame frame, WorldRaster raster, Canvas canvas) {
+    raster.update(frame);
+    canvas.getGraphicsContext2D().setGlobalAlpha(1.0);
+    canvas.getGraphicsContext2D().drawImage(raster.getImage(), 0.0, 0.0, frame.getWidth() * GLOBAL_SCALE, frame.getHeight() * GLOBAL_SCALE);
     canvas.getGraphicsContext2D().restore();
   }
 
   @SuppressWarnings ({"MagicNumber", "ImplicitNumericConversion", "NumericCastThatLosesPrecision"})
-  static void paintCell(Cell cell, Canvas canvas) {
-    if (!cell.isAlive()) {
+  static void paintCell(Frame frame, int cell, Canvas canvas) {
+    Breed breed = frame.getBreed(cell);
+    if (!frame.isAlive(cell)) {
       canvas.getGraphicsContext2D().setGlobalAlpha(0.2);
-      canvas.getGraphicsContext2D().drawImage(cell.getImage(), (cell.getX() - 1.5) * GLOBAL_SCALE, (cell.getY() - 1.5) * GLOBAL_SCALE);
+      canvas.getGraphicsContext2D().drawImage(getSprite(breed), (frame.getCellX(cell) - 1.5) * GLOBAL_SCALE, (frame.getCellY(cell) - 1.5) * GLOBAL_SCALE);
     }
-    else if (cell.isAlive()) {
-      canvas.getGraphicsContext2D().setGlobalAlpha(cell.getEnergy() / 100.0 + 0.5);
-      canvas.getGraphicsContext2D().setFill(Color.web(cell.getBreed().getColorCode()));
-      canvas.getGraphicsContext2D().setStroke(Color.web(cell.getBreed().getColorCode()));
-//      paintCellFoV(cell, canvas);
-      paintTargetLine(cell, canvas);
-      canvas.getGraphicsContext2D().drawImage(cell.getImage(), (cell.getX() - 1.5) * GLOBAL_SCALE, (cell.getY() - 1.5) * GLOBAL_SCALE);
-      canvas.getGraphicsContext2D().fillText(String.valueOf((int) cell.getEnergy()), (cell.getX() - 3) * GLOBAL_SCALE, (cell.getY() - 1.5) * GLOBAL_SCALE);
+    else {
+      canvas.getGraphicsContext2D().setGlobalAlpha(frame.getEnergy(cell) / 100.0 + 0.5);
+      canvas.getGraphicsContext2D().setFill(COLORS.get(breed));
+      canvas.getGraphicsContext2D().setStroke(COLORS.get(breed));
+      paintTargetLine(frame, cell, canvas);
+      canvas.getGraphicsContext2D().drawImage(getSprite(breed), (frame.getCellX(cell) - 1.5) * GLOBAL_SCALE, (frame.getCellY(cell) - 1.5) * GLOBAL_SCALE);
+      canvas.getGraphicsContext2D().fillText(String.valueOf((int) frame.getEnergy(cell)), (frame.getCellX(cell) - 3) * GLOBAL_SCALE, (frame.getCellY(cell) - 1.5) * GLOBAL_SCALE);
     }
     canvas.getGraphicsContext2D().restore();
   }
@@ -80,15 +84,14 @@ class WorldPainter {
   }
 
   @SuppressWarnings ({"MagicNumber", "ImplicitNumericConversion"})
-  private static void paintTargetLine(Cell cell, Canvas canvas) {
-    if (cell.getFood() != null) {
-      canvas.getGraphicsContext2D().setStroke(Color.web(cell.getBreed().getColorCode()));
+  private static void paintTargetLine(Frame frame, int cell, Canvas canvas) {
+    if (frame.getFoodX(cell) != Frame.NO_FOOD) {
+      canvas.getGraphicsContext2D().setStroke(COLORS.get(frame.getBreed(cell)));
       canvas.getGraphicsContext2D().strokeLine(
-          (cell.getX() + 0.25) * GLOBAL_SCALE, (cell.getY() + 0.25) * GLOBAL_SCALE,
-          (cell.getFood().getX() + 0.25) * GLOBAL_SCALE, (cell.getFood().getY() + 0.25) * GLOBAL_SCALE
+          (frame.getCellX(cell) + 0.25) * GLOBAL_SCALE, (frame.getCellY(cell) + 0.25) * GLOBAL_SCALE,
+          (frame.getFoodX(cell) + 0.25) * GLOBAL_SCALE, (frame.getFoodY(cell) + 0.25) * GLOBAL_SCALE
       );
     }
     canvas.getGraphicsContext2D().restore();
   }
 }
-
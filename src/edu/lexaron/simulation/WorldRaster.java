@@ -0,0 +1,86 @@
+package edu.lexaron.simulation;
+
+import edu.lexaron.cells.Breed;
+import edu.lexaron.world.World;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+
+import java.nio.IntBuffer;
+
+/**
+ * One pixel per tile of the {@link World}: sugar, with the trail on top of it. The pixels are composed in a plain
+ * premultiplied ARGB array and copied into a {@link WritableImage}, which is then drawn scaled to the canvas with a
+ * single call. Only the chunks a {@link Frame} reports as dirty are composed and copied again.
+ *
+ * Date: 17.10.2026.
+ */
+final class WorldRaster {
+  private static final int     SUGAR_RGB = 0x4d9900; // todo Mirza : consider a GFX for sugar
+  private static final Breed[] BREEDS    = Breed.values();
+  private static final int[]   BREED_RGB = new int[BREEDS.length];
+
+  static {
+    for (Breed breed : BREEDS) {
+      BREED_RGB[breed.ordinal()] = Integer.parseInt(breed.getColorCode().substring(1), 16);
+    }
+  }
+
+  private final int           width, height;
+  private final int[]         pixels;
+  private final WritableImage image;
+  private final PixelFormat<IntBuffer> format = PixelFormat.getIntArgbPreInstance();
+
+  WorldRaster(int width, int height) {
+    this.width = width;
+    this.height = height;
+    this.pixels = new int[width * height];
+    this.image = new WritableImage(width, height);
+  }
+
+  /**
+   * Redraws the dirty chunks of the provided {@link Frame}. Must be called from the FX thread.
+   *
+   * @param frame the {@link Frame} to draw
+   */
+  void update(Frame frame) {
+    for (int n = 0; n < frame.getDirtyChunkCount(); n++) {
+      int chunk = frame.getDirtyChunk(n);
+      int x0 = frame.getChunkX(chunk);
+      int y0 = frame.getChunkY(chunk);
+      for (int dy = 0; dy < frame.getChunkHeight(chunk); dy++) {
+        for (int dx = 0; dx < frame.getChunkWidth(chunk); dx++) {
+          int slot = (n * World.CHUNK_SIZE + dy) * World.CHUNK_SIZE + dx;
+          Breed trailBreed = frame.getTrailAmount(slot) > 0 ? frame.getTrailBreed(slot) : null;
+          pixels[(y0 + dy) * width + x0 + dx] = compose(frame.getSugar(slot), trailBreed, frame.getTrailAmount(slot));
+        }
+      }
+      image.getPixelWriter().setPixels(x0, y0, frame.getChunkWidth(chunk), frame.getChunkHeight(chunk), format,
+                                       pixels, y0 * width + x0, width);
+    }
+  }
+
+  Image getImage() {
+    return image;
+  }
+
+  // sugar and trail are drawn with an opacity of amount / 100, the trail over the sugar
+  @SuppressWarnings ("MagicNumber")
+  private static int compose(float sugar, Breed trailBreed, int trailAmount) {
+    float sugarAlpha = Math.min(1.0f, sugar / 100.0f);
+    float a = sugarAlpha;
+    float r = ((SUGAR_RGB >> 16) & 0xff) * sugarAlpha;
+    float g = ((SUGAR_RGB >> 8)  & 0xff) * sugarAlpha;
+    float b = ( SUGAR_RGB        & 0xff) * sugarAlpha;
+    if (trailBreed != null) {
+      int   rgb        = BREED_RGB[trailBreed.ordinal()];
+      float trailAlpha = Math.min(1.0f, trailAmount / 100.0f);
+      float keep       = 1.0f - trailAlpha;
+      a = trailAlpha + a * keep;
+      r = ((rgb >> 16) & 0xff) * trailAlpha + r * keep;
+      g = ((rgb >> 8)  & 0xff) * trailAlpha + g * keep;
+      b = ( rgb        & 0xff) * trailAlpha + b * keep;
+    }
+    return (Math.round(a * 255.0f) << 24) | (Math.round(r) << 16) | (Math.round(g) << 8) | Math.round(b);
+  }
+}
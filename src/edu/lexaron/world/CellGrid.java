@@ -0,0 +1,163 @@
+package edu.lexaron.world;
+
+import edu.lexaron.cells.Breed;
+
+import java.util.Arrays;
+
+/**
+ * Uniform grid over a layer of {@link World} which holds {@link edu.lexaron.cells.Cell}s, such as the live occupants
+ * or the corpses. Every bucket of {@link #BUCKET_SIZE} by {@link #BUCKET_SIZE} tiles lists its
+ * occupied tiles and counts its occupants per {@link Breed}, and every tile remembers the {@link Breed} of its
+ * occupant, so that searches only visit buckets which hold a matching {@link Breed} and, within them,
+ * only occupied tiles.
+ * <p>
+ * Buckets are aligned to 16 rows, so partitions of the world which are aligned to 64 rows never write to the same
+ * bucket and can update the grid concurrently.
+ *
+ * Date: 17.10.2026.
+ */
+final class CellGrid {
+  static final int NONE = -1;
+  private static final int     BUCKET_SIZE = 16;
+  private static final Breed[] BREEDS      = Breed.values();
+
+  private final int     width, height, bucketsX, bucketsY;
+  private final Instruments.Scan scan;
+  private final int[][] tiles;
+  private final int[]   sizes;
+  private final int[]   breedCounts;
+  private final byte[]  occupantBreed;
+  private final int[]   slotOf;
+
+  /**
+   * @param scan what {@link #findClosest} counts its inspected tiles as
+   */
+  CellGrid(int width, int height, Instruments.Scan scan) {
+    this.width  = width;
+    this.height = height;
+    this.scan   = scan;
+    bucketsX    = (width + BUCKET_SIZE - 1) / BUCKET_SIZE;
+    bucketsY    = (height + BUCKET_SIZE - 1) / BUCKET_SIZE;
+    tiles       = new int[bucketsX * bucketsY][];
+    sizes       = new int[bucketsX * bucketsY];
+    breedCounts = new int[bucketsX * bucketsY * BREEDS.length];
+    occupantBreed = new byte[width * height];
+    slotOf        = new int[width * height];
+  }
+
+  void clear() {
+    Arrays.fill(sizes, 0);
+    Arrays.fill(breedCounts, 0);
+    Arrays.fill(occupantBreed, (byte) 0);
+  }
+
+  /**
+   * Records a change of the {@link edu.lexaron.cells.Cell} on a tile.
+   *
+   * @param current {@link Breed} of the new {@link edu.lexaron.cells.Cell}, or null if the tile is cleared
+   */
+  void replace(int tileIndex, Breed current) {
+    int bucket   = bucketOf(tileIndex);
+    int previous = occupantBreed[tileIndex];
+    if (previous != 0) {
+      breedCounts[bucket * BREEDS.length + previous - 1]--;
+    }
+    if (current != null) {
+      breedCounts[bucket * BREEDS.length + current.ordinal()]++;
+    }
+    occupantBreed[tileIndex] = current == null ? 0 : (byte) (current.ordinal() + 1);
+    if (previous == 0 && current != null) {
+      add(bucket, tileIndex);
+    }
+    else if (previous != 0 && current == null) {
+      remove(bucket, tileIndex);
+    }
+  }
+
+  /**
+   * Closest occupied tile whose occupant is, or is not, of the provided {@link Breed}, or of any {@link Breed} if it is
+   * null. Distance is measured in the
+   * larger of the two axes, with (x, y) itself counting as distance 1, so the 3x3 square around it is searched as a
+   * whole; among equally close tiles the one in the lowest row, then in the lowest column, wins.
+   *
+   * @param ofBreed     whether the occupant must be of the {@link Breed}, rather than of any other
+   * @param includeSelf whether (x, y) itself may be returned
+   * @return the flat index of the tile, or {@link #NONE}
+   */
+  int findClosest(int x, int y, int radius, Breed breed, boolean ofBreed, boolean includeSelf) {
+    int x0 = Math.max(0, x - radius), x1 = Math.min(width - 1, x + radius);
+    int y0 = Math.max(0, y - radius), y1 = Math.min(height - 1, y + radius);
+    int result = NONE, resultDistance = Integer.MAX_VALUE, inspected = 0;
+    for (int by = y0 / BUCKET_SIZE; by <= y1 / BUCKET_SIZE; by++) {
+      for (int bx = x0 / BUCKET_SIZE; bx <= x1 / BUCKET_SIZE; bx++) {
+        int bucket = by * bucketsX + bx;
+        if (breed == null ? sizes[bucket] == 0 : !holds(bucket, breed, ofBreed)) {
+          continue;
+        }
+        inspected += sizes[bucket];
+        for (int n = 0; n < sizes[bucket]; n++) {
+          int tile = tiles[bucket][n];
+          int tx = tile % width, ty = tile / width;
+          if (tx < x0 || tx > x1 || ty < y0 || ty > y1 || (!includeSelf && tx == x && ty == y)
+              || (breed != null && (occupantBreed[tile] == breed.ordinal() + 1) != ofBreed)) {
+            continue;
+          }
+          int distance = Math.max(1, Math.max(Math.abs(tx - x), Math.abs(ty - y)));
+          if (distance < resultDistance || (distance == resultDistance && tile < result)) {
+            result = tile;
+            resultDistance = distance;
+          }
+        }
+      }
+    }
+    Instruments.countTiles(scan, inspected);
+    return result;
+  }
+
+  /**
+   * Lists the occupied tiles of the rows [y0, y1], bucket by bucket, visiting only the buckets overlapping them.
+   *
+   * @param into where to list the flat indices of the tiles, large enough for every tile of the rows
+   * @return the number of tiles listed
+   */
+  int listRows(int y0, int y1, int[] into) {
+    int found = 0;
+    for (int by = y0 / BUCKET_SIZE; by <= y1 / BUCKET_SIZE; by++) {
+      for (int bucket = by * bucketsX; bucket < (by + 1) * bucketsX; bucket++) {
+        for (int n = 0; n < sizes[bucket]; n++) {
+          int tile = tiles[bucket][n], ty = tile / width;
+          if (ty >= y0 && ty <= y1) {
+            into[found++] = tile;
+          }
+        }
+      }
+    }
+    return found;
+  }
+
+  private boolean holds(int bucket, Breed breed, boolean ofBreed) {
+    int count = breedCounts[bucket * BREEDS.length + breed.ordinal()];
+    return ofBreed ? count > 0 : sizes[bucket] > count;
+  }
+
+  private void add(int bucket, int tileIndex) {
+    if (tiles[bucket] == null) {
+      tiles[bucket] = new int[4];
+    }
+    else if (sizes[bucket] == tiles[bucket].length) {
+      tiles[bucket] = Arrays.copyOf(tiles[bucket], sizes[bucket] * 2);
+    }
+    slotOf[tileIndex] = sizes[bucket];
+    tiles[bucket][sizes[bucket]++] = tileIndex;
+  }
+
+  private void remove(int bucket, int tileIndex) {
+    int last = tiles[bucket][--sizes[bucket]];
+    tiles[bucket][slotOf[tileIndex]] = last;
+    slotOf[last] = slotOf[tileIndex];
+  }
+
+  private int bucketOf(int tileIndex) {
+    return (tileIndex / width / BUCKET_SIZE) * bucketsX + (tileIndex % width) / BUCKET_SIZE;
+  }
+}
@@ -0,0 +1,193 @@
+package edu.lexaron.world;
+
+import edu.lexaron.cells.Breed;
+import edu.lexaron.cells.Cell;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.Predicate;
+
+/**
+ * Dense storage of the {@link Cell}s of a {@link World}, with live {@link Cell}s and corpses kept in separate arrays.
+ * <p>
+ * {@link Cell}s that die during a tick stay in the live array, where they are simply skipped, until the next
+ * {@link #compact()} moves them over to the corpses in one pass. That pass also groups the live {@link Cell}s by
+ * {@link Breed}, in the order of its ordinals, and keeps each group in the order in which its members were born, so
+ * ticks remain reproducible and each {@link Breed} can be simulated as one batch. Eaten corpses are swap-removed.
+ *
+ * Date: 17.10.2026.
+ */
+public final class CellStore {
+  private static final int NO_SLOT = -1;
+
+  private static final int BREEDS  = Breed.values().length;
+
+  private Cell[] live     = new Cell[256];
+  private Cell[] sorted   = new Cell[256];
+  private final int[] breedOffset = new int[BREEDS + 1];
+  private Cell[] dead     = new Cell[256];
+  private int[]  deadSlot = new int[1024];
+  private int    liveCount, deadCount;
+
+  CellStore() {
+    Arrays.fill(deadSlot, NO_SLOT);
+  }
+
+  /**
+   * @return the number of {@link Cell}s in the live array, including those which died since the last
+   * {@link #compact()}
+   */
+  public int getLiveCount() {
+    return liveCount;
+  }
+
+  /**
+   * @param index position within the live array, below {@link #getLiveCount()}
+   * @return the {@link Cell} at that position, which may have died since the last {@link #compact()}
+   */
+  public Cell getLive(int index) {
+    return live[index];
+  }
+
+  /**
+   * @return the number of corpses
+   */
+  public int getDeadCount() {
+    return deadCount;
+  }
+
+  /**
+   * @param index position within the corpses, below {@link #getDeadCount()}
+   * @return the corpse at that position
+   */
+  public Cell getDead(int index) {
+    return dead[index];
+  }
+
+  /**
+   * @return the number of live {@link Cell}s and corpses
+   */
+  public int size() {
+    return liveCount + deadCount;
+  }
+
+  /**
+   * @return whether or not any {@link Cell} in the live array is still alive
+   */
+  public boolean anyAlive() {
+    for (int i = 0; i < liveCount; i++) {
+      if (live[i].isAlive()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return the number of {@link Cell}s which are still alive
+   */
+  public int countAlive() {
+    int alive = 0;
+    for (int i = 0; i < liveCount; i++) {
+      if (live[i].isAlive()) {
+        alive++;
+      }
+    }
+    return alive;
+  }
+
+  /**
+   * Appends registered newborn {@link Cell}s to the live array, in iteration order.
+   *
+   * @param newBornCells the {@link Cell}s to append
+   */
+  public void addAll(Collection<Cell> newBornCells) {
+    if (liveCount + newBornCells.size() > live.length) {
+      live = Arrays.copyOf(live, Math.max(live.length * 2, liveCount + newBornCells.size()));
+    }
+    for (Cell cell : newBornCells) {
+      live[liveCount++] = cell;
+    }
+  }
+
+  /**
+   * Moves every {@link Cell} that died since the last call from the live array to the corpses and groups the others by
+   * {@link Breed}.
+   */
+  public void compact() {
+    Arrays.fill(breedOffset, 0);
+    int kept = 0;
+    for (int i = 0; i < liveCount; i++) {
+      Cell cell = live[i];
+      if (cell.isAlive()) {
+        live[kept++] = cell;
+        breedOffset[cell.getBreed().ordinal() + 1]++;
+      }
+      else {
+        addDead(cell);
+      }
+    }
+    for (int b = 0; b < BREEDS; b++) {
+      breedOffset[b + 1] += breedOffset[b];
+    }
+    if (sorted.length < live.length) {
+      sorted = new Cell[live.length];
+    }
+    for (int i = 0; i < kept; i++) {
+      sorted[breedOffset[live[i].getBreed().ordinal()]++] = live[i];
+    }
+    Cell[] swap = live;
+    live = sorted;
+    sorted = swap;
+    Arrays.fill(sorted, 0, liveCount, null);
+    liveCount = kept;
+  }
+
+  /**
+   * Removes every {@link Cell} of the live array which matches the provided filter, keeping the others in their order.
+   *
+   * @param filter tells whether or not a {@link Cell} is to be removed
+   */
+  public void removeLiveIf(Predicate<Cell> filter) {
+    int kept = 0;
+    for (int i = 0; i < liveCount; i++) {
+      if (!filter.test(live[i])) {
+        live[kept++] = live[i];
+      }
+    }
+    Arrays.fill(live, kept, liveCount, null);
+    liveCount = kept;
+  }
+
+  /**
+   * Removes an eaten corpse. Corpses that are not stored are ignored.
+   *
+   * @param corpse the corpse to remove
+   */
+  public void removeDead(Cell corpse) {
+    int handleSlot = World.slotOf(corpse.getHandle());
+    if (handleSlot >= deadSlot.length || deadSlot[handleSlot] == NO_SLOT || dead[deadSlot[handleSlot]] != corpse) {
+      return;
+    }
+    int slot = deadSlot[handleSlot];
+    Cell last = dead[--deadCount];
+    dead[slot] = last;
+    deadSlot[World.slotOf(last.getHandle())] = slot;
+    dead[deadCount] = null;
+    deadSlot[handleSlot] = NO_SLOT;
+  }
+
+  private void addDead(Cell cell) {
+    if (deadCount == dead.length) {
+      dead = Arrays.copyOf(dead, dead.length * 2);
+    }
+    int handleSlot = World.slotOf(cell.getHandle());
+    if (handleSlot >= deadSlot.length) {
+      int length = deadSlot.length;
+      deadSlot = Arrays.copyOf(deadSlot, Math.max(length * 2, handleSlot + 1));
+      Arrays.fill(deadSlot, length, deadSlot.length, NO_SLOT);
+    }
+    deadSlot[handleSlot] = deadCount;
+    dead[deadCount++] = cell;
+  }
+}
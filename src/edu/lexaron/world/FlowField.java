@@ -0,0 +1,225 @@
+package edu.lexaron.world;
+
+import edu.lexaron.cells.Direction;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Distance map from every tile to the closest source tile, such as a tile with sugar, shared by every
+ * {@link edu.lexaron.cells.Cell} which walks towards those sources. Distances are counted in steps of the eight
+ * {@link Direction}s, wrapping around the edges of the world, and only up to {@link #RADIUS}; tiles farther away from
+ * every source are {@link #UNREACHED}. Every tile also remembers the source it is closest to, among equally close
+ * sources the one with the lowest flat index.
+ * <p>
+ * A {@link edu.lexaron.cells.Cell} follows the field by stepping onto a neighbour one step closer, so walking costs
+ * one lookup per step instead of planning a path of its own.
+ * <p>
+ * Sources are reported with {@link #markChanged(int)} while a tick runs and applied together by {@link #update}
+ * between ticks, so the field stays the same throughout a tick. When a source disappears, only the tiles that were
+ * closest to it are reset and refilled from their neighbours; a new source only lowers the distances around it.
+ * Changes are recorded per row, 64 tiles of a row to a word, so partitions of the world which are aligned to 64 rows
+ * can report them concurrently.
+ *
+ * Date: 17.10.2026.
+ */
+final class FlowField {
+  static final int RADIUS    = 32;
+  static final int UNREACHED = Byte.MAX_VALUE;
+  private static final Direction[] DIRECTIONS = Direction.values();
+
+  private final int    width, height, wordsPerRow;
+  private final byte[] distance;
+  private final int[]  source;
+  private final long[] changed;
+  private final int[][] buckets = new int[RADIUS + 1][];
+  private final int[]   bucketSizes = new int[RADIUS + 1];
+  private int[] reset = new int[64];
+  private int   resetCount;
+
+  FlowField(int width, int height) {
+    this.width  = width;
+    this.height = height;
+    wordsPerRow = (width + 63) >>> 6;
+    distance = new byte[width * height];
+    source   = new int[width * height];
+    changed  = new long[height * wordsPerRow];
+    for (int d = 0; d <= RADIUS; d++) {
+      buckets[d] = new int[64];
+    }
+    Arrays.fill(distance, (byte) UNREACHED);
+    Arrays.fill(source, World.NO_TILE);
+  }
+
+  /**
+   * @return the number of steps from the tile to the closest source, or {@link #UNREACHED}
+   */
+  int getDistance(int tileIndex) {
+    return distance[tileIndex];
+  }
+
+  /**
+   * @return the flat index of the source closest to the tile, or {@link World#NO_TILE}
+   */
+  int getSource(int tileIndex) {
+    return source[tileIndex];
+  }
+
+  /**
+   * Records that the tile may have become, or stopped being, a source.
+   */
+  void markChanged(int tileIndex) {
+    int x = tileIndex % width, y = tileIndex / width;
+    changed[y * wordsPerRow + (x >>> 6)] |= 1L << x;
+  }
+
+  /**
+   * Recomputes the whole field.
+   *
+   * @param isSource tells whether or not a tile is a source
+   */
+  void rebuild(IntPredicate isSource) {
+    Arrays.fill(changed, 0L);
+    Arrays.fill(distance, (byte) UNREACHED);
+    Arrays.fill(source, World.NO_TILE);
+    for (int tile = 0; tile < distance.length; tile++) {
+      if (isSource.test(tile)) {
+        offer(tile, 0, tile);
+      }
+    }
+    spread();
+  }
+
+  /**
+   * Applies every change recorded since the last update.
+   *
+   * @param isSource tells whether or not a tile is a source
+   */
+  void update(IntPredicate isSource) {
+    // tiles closest to a vanished source are reset first, so that only valid distances are spread into them
+    int added = 0;
+    for (int word = 0; word < changed.length; word++) {
+      for (long bits = changed[word]; bits != 0L; bits &= bits - 1) {
+        int tile = (word / wordsPerRow) * width + ((word % wordsPerRow) << 6) + Long.numberOfTrailingZeros(bits);
+        boolean wasSource = distance[tile] == 0;
+        if (wasSource && !isSource.test(tile)) {
+          resetClosestTo(tile);
+        }
+        else if (!wasSource && isSource.test(tile)) {
+          added++;
+        }
+      }
+    }
+    for (int i = 0; i < resetCount; i++) {
+      int tile = reset[i];
+      int x = tile % width, y = tile / width;
+      for (Direction dir : DIRECTIONS) {
+        int neighbour = neighbour(x, y, dir);
+        if (distance[neighbour] < RADIUS) {
+          offer(tile, distance[neighbour] + 1, source[neighbour]);
+        }
+      }
+    }
+    resetCount = 0;
+    if (added > 0) {
+      for (int word = 0; word < changed.length; word++) {
+        for (long bits = changed[word]; bits != 0L; bits &= bits - 1) {
+          int tile = (word / wordsPerRow) * width + ((word % wordsPerRow) << 6) + Long.numberOfTrailingZeros(bits);
+          if (distance[tile] != 0 && isSource.test(tile)) {
+            offer(tile, 0, tile);
+          }
+        }
+      }
+    }
+    Arrays.fill(changed, 0L);
+    spread();
+  }
+
+  /**
+   * Picks the first neighbour, in the order of {@link Direction}, which is one step closer to a source and not blocked,
+   * wrapping around the edges of the world.
+   *
+   * @param blocked tells whether or not a tile is occupied
+   * @return the {@link Direction} of the step, or null if the tile is a source, out of range of every source or every
+   * closer neighbour is blocked
+   */
+  Direction findStep(int x, int y, IntPredicate blocked) {
+    int here = distance[y * width + x];
+    if (here == 0 || here == UNREACHED) {
+      return null;
+    }
+    for (Direction dir : DIRECTIONS) {
+      int neighbour = neighbour(x, y, dir);
+      if (distance[neighbour] == here - 1 && !blocked.test(neighbour)) {
+        return dir;
+      }
+    }
+    return null;
+  }
+
+  private void resetClosestTo(int vanished) {
+    int start = resetCount;
+    distance[vanished] = (byte) UNREACHED;
+    source[vanished]   = World.NO_TILE;
+    addReset(vanished);
+    for (int i = start; i < resetCount; i++) {
+      int x = reset[i] % width, y = reset[i] / width;
+      for (Direction dir : DIRECTIONS) {
+        int neighbour = neighbour(x, y, dir);
+        if (source[neighbour] == vanished) {
+          distance[neighbour] = (byte) UNREACHED;
+          source[neighbour]   = World.NO_TILE;
+          addReset(neighbour);
+        }
+      }
+    }
+  }
+
+  private void addReset(int tile) {
+    if (resetCount == reset.length) {
+      reset = Arrays.copyOf(reset, resetCount * 2);
+    }
+    reset[resetCount++] = tile;
+  }
+
+  /**
+   * Lowers the distance of the tile if the offered one is shorter, or as short but to a lower source.
+   */
+  private void offer(int tile, int d, int from) {
+    if (d < distance[tile] || (d == distance[tile] && from < source[tile])) {
+      distance[tile] = (byte) d;
+      source[tile]   = from;
+      if (bucketSizes[d] == buckets[d].length) {
+        buckets[d] = Arrays.copyOf(buckets[d], bucketSizes[d] * 2);
+      }
+      buckets[d][bucketSizes[d]++] = tile;
+    }
+  }
+
+  /**
+   * Spreads the offered distances outwards, nearest first, up to {@link #RADIUS}.
+   */
+  private void spread() {
+    for (int d = 0; d < RADIUS; d++) {
+      for (int i = 0; i < bucketSizes[d]; i++) {
+        int tile = buckets[d][i];
+        if (distance[tile] != d) {
+          continue;
+        }
+        int x = tile % width, y = tile / width;
+        for (Direction dir : DIRECTIONS) {
+          offer(neighbour(x, y, dir), d + 1, source[tile]);
+        }
+      }
+      bucketSizes[d] = 0;
+    }
+    bucketSizes[RADIUS] = 0;
+  }
+
+  private int neighbour(int x, int y, Direction dir) {
+    int nx = x + dir.getDeltaX(), ny = y + dir.getDeltaY();
+    nx = nx < 0 ? width - 1 : nx >= width ? 0 : nx;
+    ny = ny < 0 ? height - 1 : ny >= height ? 0 : ny;
+    return ny * width + nx;
+  }
+}
@@ -0,0 +1,207 @@
+package edu.lexaron.world;
+
+import edu.lexaron.cells.Breed;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timers and work counters built into the simulation, off until {@link #setEnabled(boolean)} switches them on. Any
+ * thread may switch them at any time; timings which straddle the switch, either way, are dropped.
+ * <p>
+ * A timed piece of code is wrapped in {@link #start()} and one of the stop methods. While switched off,
+ * {@link #start()} does not read the clock and the stop methods return right away, so an instrumented call costs one
+ * read of a volatile field. Timings and work counts go into {@link LatencyHistogram}s, which any number of threads may
+ * record into at once.
+ *
+ * Date: 17.10.2026.
+ */
+public final class Instruments {
+  /**
+   * What {@link #start()} returns while switched off.
+   */
+  public static final long OFF = Long.MIN_VALUE;
+
+  private static final Breed[] BREEDS = Breed.values();
+
+  /**
+   * Parts of a tick, and of painting a {@link World}.
+   */
+  public enum Phase {
+    /** all of a tick */
+    TICK,
+    /** inserting newborn {@link edu.lexaron.cells.Cell}s and removing eaten corpses */
+    BOOKKEEPING,
+    /** letting every live {@link edu.lexaron.cells.Cell} live, the rest of {@code Life.allLiveCellsHunt} */
+    HUNT,
+    /** painting the tiles of a frame */
+    PAINT_WORLD,
+    /** painting all {@link edu.lexaron.cells.Cell}s of a frame */
+    PAINT_CELLS,
+    /** refreshing the information about each {@link Breed} */
+    MONITOR
+  }
+
+  /**
+   * Searches within the vision of a {@link edu.lexaron.cells.Cell}; each counts the tiles, or index entries standing
+   * for tiles, it inspects.
+   */
+  public enum Scan {
+    FIRST_SUGAR,
+    MOST_SUGAR,
+    CELLS,
+    CORPSES,
+    TRAILS
+  }
+
+  private static volatile boolean enabled;
+
+  private static final LatencyHistogram[] PHASES      = histograms(Phase.values().length);
+  private static final LatencyHistogram[] LOOKS       = histograms(BREEDS.length);
+  private static final LatencyHistogram[] HUNTS       = histograms(BREEDS.length);
+  private static final LatencyHistogram[] SCANS       = histograms(Scan.values().length);
+  private static final LongAdder[]        PATH_STEPS  = new LongAdder[BREEDS.length];
+
+  static {
+    for (int i = 0; i < PATH_STEPS.length; i++) {
+      PATH_STEPS[i] = new LongAdder();
+    }
+  }
+
+  private Instruments() {}
+
+  private static LatencyHistogram[] histograms(int count) {
+    LatencyHistogram[] histograms = new LatencyHistogram[count];
+    for (int i = 0; i < count; i++) {
+      histograms[i] = new LatencyHistogram();
+    }
+    return histograms;
+  }
+
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  public static void setEnabled(boolean enabled) {
+    Instruments.enabled = enabled;
+  }
+
+  /**
+   * @return the current time in nanoseconds, or {@link #OFF}
+   */
+  public static long start() {
+    return enabled ? System.nanoTime() : OFF;
+  }
+
+  /**
+   * Records the time since {@link #start()} returned the provided value, unless the instruments were switched off in
+   * the meantime.
+   */
+  public static void stop(Phase phase, long start) {
+    if (start != OFF && enabled) {
+      PHASES[phase.ordinal()].record(System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Records the time a member of the {@link Breed} spent in {@link edu.lexaron.cells.Cell#lookForFood(World)}.
+   */
+  public static void stopLookForFood(Breed breed, long start) {
+    if (start != OFF && enabled) {
+      LOOKS[breed.ordinal()].record(System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Records the time a member of the {@link Breed} spent in {@link edu.lexaron.cells.Cell#doHunt(World)}.
+   */
+  public static void stopHunt(Breed breed, long start) {
+    if (start != OFF && enabled) {
+      HUNTS[breed.ordinal()].record(System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Records the number of tiles one {@link Scan} inspected.
+   */
+  public static void countTiles(Scan scan, int tiles) {
+    if (enabled) {
+      SCANS[scan.ordinal()].record(tiles);
+    }
+  }
+
+  /**
+   * Counts steps a member of the {@link Breed} took along its path.
+   */
+  public static void countPathSteps(Breed breed, int steps) {
+    if (enabled && steps > 0) {
+      PATH_STEPS[breed.ordinal()].add(steps);
+    }
+  }
+
+  public static LatencyHistogram getPhase(Phase phase) {
+    return PHASES[phase.ordinal()];
+  }
+
+  public static LatencyHistogram getLookForFood(Breed breed) {
+    return LOOKS[breed.ordinal()];
+  }
+
+  public static LatencyHistogram getHunt(Breed breed) {
+    return HUNTS[breed.ordinal()];
+  }
+
+  public static LatencyHistogram getTiles(Scan scan) {
+    return SCANS[scan.ordinal()];
+  }
+
+  public static long getPathSteps(Breed breed) {
+    return PATH_STEPS[breed.ordinal()].sum();
+  }
+
+  /**
+   * Forgets everything recorded so far.
+   */
+  public static void reset() {
+    for (LatencyHistogram[] histograms : new LatencyHistogram[][] {PHASES, LOOKS, HUNTS, SCANS}) {
+      for (LatencyHistogram histogram : histograms) {
+        histogram.reset();
+      }
+    }
+    for (LongAdder steps : PATH_STEPS) {
+      steps.reset();
+    }
+  }
+
+  /**
+   * @return a table of everything recorded so far, times in microseconds (us)
+   */
+  @SuppressWarnings ("MagicNumber")
+  public static String report() {
+    StringBuilder report = new StringBuilder(String.format("%-28s %10s %10s %10s %10s %10s %10s%n",
+        "us", "count", "mean", "p50", "p90", "p99", "max"));
+    for (Phase phase : Phase.values()) {
+      appendRow(report, phase.name().toLowerCase(), getPhase(phase), 1.0e-3);
+    }
+    for (Breed breed : BREEDS) {
+      appendRow(report, breed.name().toLowerCase() + " lookForFood", getLookForFood(breed), 1.0e-3);
+      appendRow(report, breed.name().toLowerCase() + " doHunt", getHunt(breed), 1.0e-3);
+    }
+    report.append(String.format("%-28s %10s %10s %10s %10s %10s %10s%n", "tiles per scan", "count", "mean", "p50", "p90", "p99", "max"));
+    for (Scan scan : Scan.values()) {
+      appendRow(report, scan.name().toLowerCase(), getTiles(scan), 1.0);
+    }
+    report.append(String.format("%-28s %10s%n", "path steps", "count"));
+    for (Breed breed : BREEDS) {
+      report.append(String.format("%-28s %10d%n", breed.name().toLowerCase(), getPathSteps(breed)));
+    }
+    return report.toString();
+  }
+
+  private static void appendRow(StringBuilder report, String name, LatencyHistogram histogram, double scale) {
+    if (histogram.getCount() > 0L) {
+      report.append(String.format("%-28s %10d %10.1f %10.1f %10.1f %10.1f %10.1f%n", name, histogram.getCount(),
+          histogram.getMean() * scale, histogram.getValueAt(0.5) * scale, histogram.getValueAt(0.9) * scale,
+          histogram.getValueAt(0.99) * scale, histogram.getMax() * scale));
+    }
+  }
+}
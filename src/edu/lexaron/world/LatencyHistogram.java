@@ -0,0 +1,110 @@
+package edu.lexaron.world;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts non-negative values, such as latencies in nanoseconds or units of work, in buckets laid out like those of
+ * HdrHistogram: values below {@link #SUB_BUCKETS} get a bucket each, every higher power of two is split into
+ * {@link #SUB_BUCKETS} / 2 equally wide buckets. Any value is thus kept within 1 / 32 of itself, in a fixed number of
+ * buckets. Recording only increments atomic counters, so any number of threads may record at once without locking.
+ *
+ * Date: 17.10.2026.
+ */
+public final class LatencyHistogram {
+  private static final int SUB_BITS    = 6;
+  private static final int SUB_BUCKETS = 1 << SUB_BITS;
+  private static final int HALF        = SUB_BUCKETS >>> 1;
+  // the highest bit of a long value is bit 62, which is shifted by 62 - (SUB_BITS - 1)
+  private static final int BUCKETS     = SUB_BUCKETS + (63 - SUB_BITS) * HALF;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final AtomicLong      total  = new AtomicLong();
+  private final AtomicLong      sum    = new AtomicLong();
+  private final AtomicLong      max    = new AtomicLong();
+
+  /**
+   * @param value a non-negative value, negative ones are counted as zero
+   */
+  public void record(long value) {
+    long recorded = Math.max(0L, value);
+    counts.incrementAndGet(bucket(recorded));
+    total.incrementAndGet();
+    sum.addAndGet(recorded);
+    long seen;
+    while (recorded > (seen = max.get()) && !max.compareAndSet(seen, recorded)) {
+      // another thread raised the maximum in the meantime, compare again
+    }
+  }
+
+  /**
+   * Forgets every recorded value. Values recorded while resetting may or may not survive.
+   */
+  public void reset() {
+    for (int i = 0; i < BUCKETS; i++) {
+      counts.set(i, 0L);
+    }
+    total.set(0L);
+    sum.set(0L);
+    max.set(0L);
+  }
+
+  public long getCount() {
+    return total.get();
+  }
+
+  /**
+   * @return the mean of the recorded values, zero if there are none
+   */
+  public double getMean() {
+    long count = total.get();
+    return count == 0L ? 0.0 : (double) sum.get() / count;
+  }
+
+  public long getMax() {
+    return max.get();
+  }
+
+  /**
+   * @param quantile between 0 and 1, 0.5 being the median
+   * @return the highest value of the bucket holding the value at the quantile, capped at {@link #getMax()}, or zero
+   * if there are no values
+   */
+  public long getValueAt(double quantile) {
+    long count = 0L;
+    long[] snapshot = new long[BUCKETS];
+    for (int i = 0; i < BUCKETS; i++) {
+      snapshot[i] = counts.get(i);
+      count += snapshot[i];
+    }
+    if (count == 0L) {
+      return 0L;
+    }
+    long rank = (long) Math.ceil(Math.max(0.0, Math.min(1.0, quantile)) * count);
+    long seen = 0L;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += snapshot[i];
+      if (seen >= Math.max(1L, rank)) {
+        return Math.min(highestValueOf(i), getMax());
+      }
+    }
+    return getMax();
+  }
+
+  private static int bucket(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BITS - 1);
+    return SUB_BUCKETS + (shift - 1) * HALF + (int) (value >>> shift) - HALF;
+  }
+
+  private static long highestValueOf(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+    int shift = (bucket - SUB_BUCKETS) / HALF + 1;
+    long lowest = (long) ((bucket - SUB_BUCKETS) % HALF + HALF) << shift;
+    return lowest + (1L << shift) - 1L;
+  }
+}
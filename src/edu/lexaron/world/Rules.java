@@ -0,0 +1,46 @@
+package edu.lexaron.world;
+
+/**
+ * Tunable constants of the life cycle of {@link edu.lexaron.cells.Cell}s, fixed for the lifetime of a {@link World}.
+ * Worlds with different {@link Rules} can be simulated side by side, for instance to sweep over them.
+ *
+ * Date: 17.10.2026.
+ */
+public final class Rules {
+  /**
+   * The rules every {@link World} used before they became tunable.
+   */
+  public static final Rules DEFAULT = new Rules(100.0, 3, 1.0);
+
+  private final double birthRequirement;
+  private final int    offspringLimit;
+  private final double mutationRate;
+
+  /**
+   * @param birthRequirement energy at which a {@link edu.lexaron.cells.Cell} divides
+   * @param offspringLimit   number of offspring after which a {@link edu.lexaron.cells.Cell} dies
+   * @param mutationRate     chance (0 to 1) that a newborn {@link edu.lexaron.cells.Cell} mutates
+   */
+  public Rules(double birthRequirement, int offspringLimit, double mutationRate) {
+    this.birthRequirement = birthRequirement;
+    this.offspringLimit   = offspringLimit;
+    this.mutationRate     = mutationRate;
+  }
+
+  public double getBirthRequirement() {
+    return birthRequirement;
+  }
+
+  public int getOffspringLimit() {
+    return offspringLimit;
+  }
+
+  public double getMutationRate() {
+    return mutationRate;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("birth=%s, offspring=%s, mutation=%s", birthRequirement, offspringLimit, mutationRate);
+  }
+}
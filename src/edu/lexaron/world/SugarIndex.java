@@ -0,0 +1,111 @@
+package edu.lexaron.world;
+
+import java.util.Arrays;
+
+/**
+ * Two-level bitmap of the tiles which hold sugar. The lower level keeps one bit per tile, 64 tiles of a row to a word.
+ * The upper level keeps one bit per word of the lower level, 64 rows of the same word column to a word, so that
+ * stretches of empty rows are skipped without reading them.
+ * <p>
+ * Rows of different 64-row groups never share a word on either level, so partitions of the world which are aligned
+ * to 64 rows can update the index concurrently.
+ *
+ * Date: 17.10.2026.
+ */
+final class SugarIndex {
+  static final int NONE = -1;
+
+  private final int    width, height, wordsPerRow;
+  private final long[] tiles;
+  private final long[] rows;
+
+  SugarIndex(int width, int height) {
+    this.width  = width;
+    this.height = height;
+    wordsPerRow = (width + 63) >>> 6;
+    tiles = new long[height * wordsPerRow];
+    rows  = new long[((height + 63) >>> 6) * wordsPerRow];
+  }
+
+  void clear() {
+    Arrays.fill(tiles, 0L);
+    Arrays.fill(rows, 0L);
+  }
+
+  void set(int x, int y, boolean hasSugar) {
+    int word = y * wordsPerRow + (x >>> 6);
+    long before = tiles[word];
+    long after  = hasSugar ? before | (1L << x) : before & ~(1L << x);
+    tiles[word] = after;
+    if ((before == 0L) != (after == 0L)) {
+      rows[(y >>> 6) * wordsPerRow + (x >>> 6)] ^= 1L << y;
+    }
+  }
+
+  /**
+   * First tile with sugar when the square is read from its highest row down, each row from its lowest column.
+   *
+   * @return the flat index of the tile, or {@link #NONE}
+   */
+  int findFromLastRow(int x, int y, int radius) {
+    int x0 = Math.max(0, x - radius), x1 = Math.min(width - 1, x + radius);
+    int y0 = Math.max(0, y - radius), y1 = Math.min(height - 1, y + radius);
+    if (x0 > x1 || y0 > y1) {
+      return NONE;
+    }
+    int inspected = 0;
+    for (int g = y1 >>> 6; g >= y0 >>> 6; g--) {
+      long candidates = candidateRows(g, y0, y1, x0, x1);
+      while (candidates != 0L) {
+        int i = (g << 6) + 63 - Long.numberOfLeadingZeros(candidates);
+        candidates &= ~(1L << i);
+        inspected += x1 - x0 + 1;
+        int column = firstInRow(i, x0, x1);
+        if (column != NONE) {
+          Instruments.countTiles(Instruments.Scan.FIRST_SUGAR, inspected);
+          return i * width + column;
+        }
+      }
+    }
+    Instruments.countTiles(Instruments.Scan.FIRST_SUGAR, inspected);
+    return NONE;
+  }
+
+  /**
+   * @return rows of group g within [y0, y1] which have sugar somewhere in the words covering [x0, x1]
+   */
+  private long candidateRows(int g, int y0, int y1, int x0, int x1) {
+    long candidates = 0L;
+    for (int w = x0 >>> 6; w <= x1 >>> 6; w++) {
+      candidates |= rows[g * wordsPerRow + w];
+    }
+    if (g == y0 >>> 6) {
+      candidates &= -1L << y0;
+    }
+    if (g == y1 >>> 6) {
+      candidates &= -1L >>> (63 - (y1 & 63));
+    }
+    return candidates;
+  }
+
+  private int firstInRow(int y, int x0, int x1) {
+    for (int w = x0 >>> 6; w <= x1 >>> 6; w++) {
+      long bits = masked(y, w, x0, x1);
+      if (bits != 0L) {
+        return (w << 6) + Long.numberOfTrailingZeros(bits);
+      }
+    }
+    return NONE;
+  }
+
+  private long masked(int y, int w, int x0, int x1) {
+    long bits = tiles[y * wordsPerRow + w];
+    if (w == x0 >>> 6) {
+      bits &= -1L << x0;
+    }
+    if (w == x1 >>> 6) {
+      bits &= -1L >>> (63 - (x1 & 63));
+    }
+    return bits;
+  }
+}
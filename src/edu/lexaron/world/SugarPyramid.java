@@ -0,0 +1,150 @@
+package edu.lexaron.world;
+
+/**
+ * Block-max pyramid over the sugar layer. Level k holds, for every block of 2^k by 2^k tiles, the tile with the most
+ * sugar in it; ties go to the lower flat index, which is the tile that comes first in row-major order. A window query
+ * takes the stored answer of every block that lies inside the window and only descends into the blocks on its border.
+ * <p>
+ * The pyramid stops at blocks of 64 by 64 tiles, so that partitions of the world which are aligned to 64 rows never
+ * write to the same block and can update it concurrently.
+ *
+ * Date: 17.10.2026.
+ */
+final class SugarPyramid {
+  static final int NONE = -1;
+  private static final int LEVELS = 6;
+
+  private final double[] sugar;
+  private final int      width, height;
+  private final int[][]  best        = new int[LEVELS + 1][];
+  private final int[]    levelWidth  = new int[LEVELS + 1];
+  private final int[]    levelHeight = new int[LEVELS + 1];
+
+  /**
+   * @param sugar the sugar layer of the {@link World}, read whenever blocks are compared
+   */
+  SugarPyramid(double[] sugar, int width, int height) {
+    this.sugar  = sugar;
+    this.width  = width;
+    this.height = height;
+    for (int k = 0; k <= LEVELS; k++) {
+      levelWidth[k]  = (width + (1 << k) - 1) >> k;
+      levelHeight[k] = (height + (1 << k) - 1) >> k;
+      if (k > 0) {
+        best[k] = new int[levelWidth[k] * levelHeight[k]];
+      }
+    }
+    rebuild();
+  }
+
+  /**
+   * Recomputes every block from the sugar layer.
+   */
+  void rebuild() {
+    for (int k = 1; k <= LEVELS; k++) {
+      for (int by = 0; by < levelHeight[k]; by++) {
+        for (int bx = 0; bx < levelWidth[k]; bx++) {
+          best[k][by * levelWidth[k] + bx] = fromChildren(k, bx, by);
+        }
+      }
+    }
+  }
+
+  /**
+   * Updates the blocks containing the provided tile, after its sugar changed. A tile that gained sugar only has to
+   * be compared with the current best of each block; a tile that lost sugar only matters to the blocks it was the
+   * best of.
+   *
+   * @param increased whether the tile gained sugar
+   */
+  void update(int x, int y, boolean increased) {
+    int tile = y * width + x;
+    for (int k = 1; k <= LEVELS; k++) {
+      int slot = (y >> k) * levelWidth[k] + (x >> k);
+      int previous = best[k][slot];
+      if (increased) {
+        best[k][slot] = better(previous, tile);
+      }
+      else if (previous == tile) {
+        best[k][slot] = fromChildren(k, x >> k, y >> k);
+      }
+      if (best[k][slot] == previous && previous != tile) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * @return the flat index of the tile with the most sugar within the square, the first one in row-major order if
+   * there are several, or {@link #NONE} if the square lies outside of the world
+   */
+  int findMax(int x, int y, int radius) {
+    int x0 = Math.max(0, x - radius), x1 = Math.min(width - 1, x + radius);
+    int y0 = Math.max(0, y - radius), y1 = Math.min(height - 1, y + radius);
+    int result = NONE;
+    // counts the blocks compared, only while instruments are on
+    int[] compared = Instruments.isEnabled() ? new int[1] : null;
+    for (int by = y0 >> LEVELS; by <= y1 >> LEVELS; by++) {
+      for (int bx = x0 >> LEVELS; bx <= x1 >> LEVELS; bx++) {
+        result = query(LEVELS, bx, by, x0, y0, x1, y1, result, compared);
+      }
+    }
+    if (compared != null) {
+      Instruments.countTiles(Instruments.Scan.MOST_SUGAR, compared[0]);
+    }
+    return result;
+  }
+
+  private int query(int k, int bx, int by, int x0, int y0, int x1, int y1, int result, int[] compared) {
+    if (bx >= levelWidth[k] || by >= levelHeight[k]) {
+      return result;
+    }
+    int left = bx << k, top = by << k, right = left + (1 << k) - 1, bottom = top + (1 << k) - 1;
+    if (right < x0 || left > x1 || bottom < y0 || top > y1) {
+      return result;
+    }
+    int node = get(k, bx, by);
+    if (compared != null) {
+      compared[0]++;
+    }
+    if (result != NONE && sugar[node] < sugar[result]) {
+      return result;
+    }
+    if (k == 0 || (left >= x0 && right <= x1 && top >= y0 && bottom <= y1)) {
+      return better(result, node);
+    }
+    for (int dy = 0; dy < 2; dy++) {
+      for (int dx = 0; dx < 2; dx++) {
+        result = query(k - 1, 2 * bx + dx, 2 * by + dy, x0, y0, x1, y1, result, compared);
+      }
+    }
+    return result;
+  }
+
+  private int fromChildren(int k, int bx, int by) {
+    int result = NONE;
+    for (int dy = 0; dy < 2; dy++) {
+      for (int dx = 0; dx < 2; dx++) {
+        int cx = 2 * bx + dx, cy = 2 * by + dy;
+        if (cx < levelWidth[k - 1] && cy < levelHeight[k - 1]) {
+          result = better(result, get(k - 1, cx, cy));
+        }
+      }
+    }
+    return result;
+  }
+
+  private int get(int k, int bx, int by) {
+    return k == 0 ? by * width + bx : best[k][by * levelWidth[k] + bx];
+  }
+
+  private int better(int a, int b) {
+    if (a == NONE) {
+      return b;
+    }
+    if (b == NONE || sugar[a] > sugar[b]) {
+      return a;
+    }
+    return sugar[b] > sugar[a] ? b : Math.min(a, b);
+  }
+}
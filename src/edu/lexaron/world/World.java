@@ -5,69 +5,181 @@
  */
 package edu.lexaron.world;
 
+import edu.lexaron.cells.Breed;
 import edu.lexaron.cells.Cell;
+import edu.lexaron.cells.CellTable;
+import edu.lexaron.cells.Direction;
 
-import java.security.SecureRandom;
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.Random;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntPredicate;
 
 /**
+ * The cellular world. Every tile is addressed by a flat index ({@code y * width + x}) into a set of primitive layers:
+ * sugar, trail expiry, trail source and occupancy. {@link Cell}s are referenced from the grid by their handle, see
+ * {@link #register(Cell)}.
+ * <p>
+ * Totals of sugar and {@link Cell}s, for the whole world and per region, are updated whenever they change, so
+ * reading them costs the same for any size of world or population.
+ * All randomness in the world derives from a single seed, so a run can be reproduced by reusing it.
+ *
  * @author Mirza Suljić <mirza.suljic.ba@gmail.com>
  */
 public class World {
 
+  /**
+   * Edge length of the square chunks in which changes to sugar and trails are tracked.
+   */
+  public static final int CHUNK_SIZE = 16;
+  /**
+   * Returned by tile queries which found nothing.
+   */
+  public static final int NO_TILE = SugarIndex.NONE;
+  /**
+   * Farthest distance, in steps, that flow fields such as {@link #getSugarFlowDistance(int, int)} keep track of.
+   */
+  public static final int FLOW_RADIUS = FlowField.RADIUS;
+  /**
+   * Distance reported by flow fields for tiles out of range of every source.
+   */
+  public static final int UNREACHED   = FlowField.UNREACHED;
+  /**
+   * Edge length of the square regions over which sugar and {@link Cell}s are totalled, see {@link #getRegion(int, int)}.
+   * Regions are aligned to 64 rows, like the strips of {@code edu.lexaron.simulation.Life}.
+   */
+  public static final int REGION_SIZE = 64;
   private static final int MAX_SUGAR_PER_TILE = 20;
+  private static final int NO_CELL = 0;
+  // a handle is a slot of cellsByHandle in its low bits and the generation of the slot, counting its reuses, above them
+  private static final int HANDLE_SLOT_BITS = 24;
+  private static final int HANDLE_SLOT_MASK = (1 << HANDLE_SLOT_BITS) - 1;
+  private static final Breed[] BREEDS = Breed.values();
   private final int height;
   private final int width;
-  private final Random random = new SecureRandom();
-  private Tile[][] world;
-  private volatile Set<Cell> allCells = new HashSet<>();
-  private Set<Cell> newBornCells = new HashSet<>();
-  private Set<Cell> eatenCorpses = new HashSet<>();
+  private final long seed;
+  private final Rules rules;
+  private final SplittableRandom random;
+  private final double[] sugar;
+  private final SugarIndex sugarIndex;
+  private final SugarPyramid sugarPyramid;
+  private final FlowField   sugarFlow;
+  private final IntPredicate hasSugarAt, isOccupied;
+  private final int[]    trailExpiry;
+  private final int[]    trailSource;
+  private final int[]    occupant;
+  private final int[]    sugarWatcher;
+  private final int[]    corpse;
+  private final CellGrid cellGrid;
+  private final CellGrid corpseGrid;
+  private final AtomicInteger corpseCount = new AtomicInteger();
+  private final int      chunksX, chunksY;
+  private final boolean[] dirtyChunks;
+  private final int[]     chunkTrailExpiry;
+  private int             cleanTick;
+  private Cell[] cellsByHandle = new Cell[1024];
+  private int    nextHandle    = NO_CELL + 1;
+  private int[]  freeHandles   = new int[64];
+  private int    freeHandleCount;
+  private int    tick;
+  private final CellStore cells = new CellStore();
+  private final CellTable cellTable;
+  private final int       regionsX, regionsY;
+  private final long[]    regionSugar;
+  private final LongAdder totalSugar = new LongAdder();
+  private Set<Cell> newBornCells = new LinkedHashSet<>();
+  private Set<Cell> eatenCorpses = new LinkedHashSet<>();
+  private final ThreadLocal<Set<Cell>> localNewBornCells = new ThreadLocal<>();
+  private final ThreadLocal<Set<Cell>> localEatenCorpses = new ThreadLocal<>();
 
   /**
    * @param width
    * @param height
+   * @param seed   the simulation-wide seed
    */
-  public World(int width, int height) {
+  public World(int width, int height, long seed) {
+    this(width, height, seed, Rules.DEFAULT);
+  }
+
+  /**
+   * @param width
+   * @param height
+   * @param seed   the simulation-wide seed
+   * @param rules  the life cycle constants of the {@link Cell}s in this world
+   */
+  public World(int width, int height, long seed, Rules rules) {
+    this.rules = rules;
     this.height = height;
     this.width = width;
+    this.seed = seed;
+    this.random = new SplittableRandom(seed);
+    int tiles = width * height;
+    sugar       = new double[tiles];
+    sugarIndex  = new SugarIndex(width, height);
+    sugarPyramid = new SugarPyramid(sugar, width, height);
+    sugarFlow   = new FlowField(width, height);
+    trailExpiry = new int[tiles];
+    trailSource = new int[tiles];
+    occupant    = new int[tiles];
+    sugarWatcher = new int[tiles];
+    corpse      = new int[tiles];
+    cellGrid    = new CellGrid(width, height, Instruments.Scan.CELLS);
+    corpseGrid  = new CellGrid(width, height, Instruments.Scan.CORPSES);
+    chunksX     = (width + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    chunksY     = (height + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    dirtyChunks = new boolean[chunksX * chunksY];
+    chunkTrailExpiry = new int[chunksX * chunksY];
+    regionsX    = (width + REGION_SIZE - 1) / REGION_SIZE;
+    regionsY    = (height + REGION_SIZE - 1) / REGION_SIZE;
+    regionSugar = new long[regionsX * regionsY];
+    cellTable   = new CellTable(width, height);
+    hasSugarAt  = tile -> sugar[tile] > 0.0;
+    isOccupied  = tile -> cellOf(occupant[tile]) != null;
   }
 
   /**
-   * @param sugarFactor
-   * @return
+   * Clears every layer of the grid and scatters new sugar.
+   *
+   * @param sugarFactor percentage (0 to 100) of tiles which receive sugar
    */
-  public Tile[][] generateWorld(double sugarFactor) {
+  public void generateWorld(double sugarFactor) {
     // sf, 0 to 100 in %
 
     System.out.println("Generating world...");
-    world = new Tile[height][width];
+    Arrays.fill(sugar, 0.0);
+    Arrays.fill(regionSugar, 0L);
+    totalSugar.reset();
+    sugarIndex.clear();
+    Arrays.fill(trailExpiry, tick);
+    Arrays.fill(trailSource, NO_CELL);
+    Arrays.fill(occupant, NO_CELL);
+    Arrays.fill(sugarWatcher, NO_CELL);
+    cellGrid.clear();
+    corpseGrid.clear();
+    corpseCount.set(0);
+    Arrays.fill(corpse, NO_CELL);
+    Arrays.fill(dirtyChunks, true);
+    Arrays.fill(chunkTrailExpiry, tick);
 
+    SplittableRandom generation = random.split();
     int sugarTiles = (int) (((width * height)) * (sugarFactor / 100));
-    System.out.println(String.format("Setup:%sx%s, SF=%s, ST=%s", width, height, sugarFactor, sugarTiles));
-    int tileID = 1;
-    for (int i = 0; i < width; i++) {
-      for (int j = 0; j < height; j++) {
-        world[j][i] = new Tile(tileID, null, new Sugar(j, i, 0), new Trail(0, null));
-        tileID++;
-      }
-    }
+    System.out.println(String.format("Setup:%sx%s, SF=%s, ST=%s, seed=%s", width, height, sugarFactor, sugarTiles, seed));
     int x;
     int y;
     for (int i = 0; i < sugarTiles; i++) {
       do {
-        x = random.nextInt(width);
-        y = random.nextInt(height);
+        x = generation.nextInt(width);
+        y = generation.nextInt(height);
       }
-      while (hasSugar(y, x));
-      world[y][x].setSugar(new Sugar(x, y, random.nextInt(MAX_SUGAR_PER_TILE + 1)));
+      while (hasSugar(x, y));
+      setSugar(x, y, generation.nextInt(MAX_SUGAR_PER_TILE + 1));
     }
+    sugarPyramid.rebuild();
+    sugarFlow.rebuild(hasSugarAt);
     System.out.println("Done generating world!");
-
-    return world;
   }
 
   /**
@@ -76,33 +188,46 @@ public class World {
    * @return
    */
   public boolean hasSugar(int x, int y) {
-    return world[x][y].getSugar().getAmount() != 0;
-  }
-
-//  /**
-//   *
-//   */
-//  public void newFood() {
-//    int x, y;
-////        x = r.nextInt(((width / 4) * 3) - (width / 4)) + (width / 4);
-////        y = r.nextInt(((height / 4) * 3) - (height / 4)) + (height / 4);
-//    x = random.nextInt(width - 2) + 1;
-//    y = random.nextInt(height - 2) + 1;
-//    if (world[y][x].getSugar().getAmount() <= 0) {
-//      world[y][x].getSugar().setAmount(random.nextInt(9) + 1);
-//    }
-//    else {
-//      //if (world[y][x].getSugar().getAmount() <= 18)
-//      world[y][x].getSugar().setAmount(world[y][x].getSugar().getAmount() + 2);
-//    }
-//
-//  }
+    return sugar[getTileIndex(x, y)] != 0;
+  }
 
   /**
-   * @return
+   * @return the seed this world was created with
+   */
+  public long getSeed() {
+    return seed;
+  }
+
+  /**
+   * Source of randomness for world-level events, such as spawning default {@link Cell}s. Each {@link Cell} splits its
+   * own stream off this one.
+   *
+   * @return the random stream of this world
+   */
+  public SplittableRandom getRandom() {
+    return random;
+  }
+
+  /**
+   * @return the life cycle constants of the {@link Cell}s in this world
+   */
+  public Rules getRules() {
+    return rules;
+  }
+
+  /**
+   * @return the number of ticks simulated so far
+   */
+  public int getTick() {
+    return tick;
+  }
+
+  /**
+   * Concludes the current tick and brings the shared flow fields up to date with it.
    */
-  public Tile[][] getWorld() {
-    return world;
+  public void advanceTick() {
+    tick++;
+    sugarFlow.update(hasSugarAt);
   }
 
   /**
@@ -120,50 +245,612 @@ public class World {
   }
 
   /**
+   * @param x
+   * @param y
+   * @return the flat index of the tile at the provided coordinates
+   */
+  public int getTileIndex(int x, int y) {
+    return y * width + x;
+  }
+
+  /**
+   * @param x
+   * @param y
+   * @return the amount of sugar on the tile
+   */
+  public double getSugar(int x, int y) {
+    return sugar[getTileIndex(x, y)];
+  }
+
+  /**
+   * @param tileIndex
+   * @return the amount of sugar on the tile
+   */
+  public double getSugar(int tileIndex) {
+    return sugar[tileIndex];
+  }
+
+  /**
+   * Copies the sugar of consecutive tiles, such as those of one row.
+   *
+   * @param tileIndex the first tile
+   * @param into      where to copy the sugar to
+   * @param offset    where to copy the sugar of the first tile to
+   * @param tiles     the number of tiles
+   */
+  public void copySugar(int tileIndex, double[] into, int offset, int tiles) {
+    System.arraycopy(sugar, tileIndex, into, offset, tiles);
+  }
+
+  /**
+   * Sugar never drops below zero, overeating a tile simply empties it.
+   *
+   * @param x
+   * @param y
+   * @param amount
+   */
+  public void setSugar(int x, int y, double amount) {
+    setSugar(getTileIndex(x, y), amount);
+  }
+
+  /**
+   * @param tileIndex
+   * @param amount
+   */
+  public void setSugar(int tileIndex, double amount) {
+    double clamped = amount < 0.0 ? 0.0 : amount;
+    if (sugar[tileIndex] != clamped) {
+      if ((sugar[tileIndex] > 0.0) != (clamped > 0.0)) {
+        sugarIndex.set(tileIndex % width, tileIndex / width, clamped > 0.0);
+        sugarFlow.markChanged(tileIndex);
+      }
+      boolean increased = clamped > sugar[tileIndex];
+      long units = (long) clamped - (long) sugar[tileIndex];
+      if (units != 0L) {
+        regionSugar[regionOf(tileIndex)] += units;
+        totalSugar.add(units);
+      }
+      sugar[tileIndex] = clamped;
+      sugarPyramid.update(tileIndex % width, tileIndex / width, increased);
+      markDirty(tileIndex);
+      if (sugarWatcher[tileIndex] != NO_CELL) {
+        Cell watcher = cellOf(sugarWatcher[tileIndex]);
+        sugarWatcher[tileIndex] = NO_CELL;
+        if (watcher != null) {
+          watcher.wake();
+        }
+      }
+    }
+  }
+
+  /**
+   * Lets a sleeping {@link Cell} be woken by the next change to the sugar on a tile. Each tile can be watched by one
+   * {@link Cell} at a time.
+   *
+   * @param x
+   * @param y
+   * @param cell the {@link Cell} to wake
+   * @return whether or not the tile is now watched by the {@link Cell}
+   */
+  public boolean watchSugar(int x, int y, Cell cell) {
+    int tileIndex = getTileIndex(x, y);
+    Cell watcher = cellOf(sugarWatcher[tileIndex]);
+    if (watcher != null && watcher != cell && watcher.isAlive() && watcher.isAsleep(tick)) {
+      return false;
+    }
+    sugarWatcher[tileIndex] = cell.getHandle();
+    return true;
+  }
+
+  /**
+   * Stops the provided {@link Cell} from watching a tile, see {@link #watchSugar(int, int, Cell)}.
+   *
+   * @param x
+   * @param y
+   * @param cell the {@link Cell} which watched the tile
+   */
+  public void unwatchSugar(int x, int y, Cell cell) {
+    int tileIndex = getTileIndex(x, y);
+    if (sugarWatcher[tileIndex] == cell.getHandle()) {
+      sugarWatcher[tileIndex] = NO_CELL;
+    }
+  }
+
+  /**
+   * Finds the first tile with sugar within a square around the provided coordinates, reading the square from its
+   * highest row down and each row from its lowest column, without wrapping around the edges of the world.
+   *
+   * @param x
+   * @param y
+   * @param radius half the edge length of the square
+   * @return the flat index of the tile, or {@link #NO_TILE}
+   */
+  public int findSugarFromLastRow(int x, int y, int radius) {
+    return sugarIndex.findFromLastRow(x, y, radius);
+  }
+
+  /**
+   * Finds the tile with the most sugar within a square around the provided coordinates, without wrapping around the
+   * edges of the world. Among equally sweet tiles the one in the lowest row, then in the lowest column, wins.
+   *
+   * @param x
+   * @param y
+   * @param radius half the edge length of the square
+   * @return the flat index of the tile, or {@link #NO_TILE} if no tile within the square has any sugar
+   */
+  public int findMostSugar(int x, int y, int radius) {
+    int tile = sugarPyramid.findMax(x, y, radius);
+    return tile != SugarPyramid.NONE && sugar[tile] > 0.0 ? tile : NO_TILE;
+  }
+
+  /**
+   * Number of steps from the provided coordinates to the closest tile with sugar, wrapping around the edges of the
+   * world, as of the start of the current tick. Distances above {@link #FLOW_RADIUS} are not tracked.
+   *
+   * @param x
+   * @param y
+   * @return the number of steps, or {@link #UNREACHED} if no sugar lies within {@link #FLOW_RADIUS} steps
+   */
+  public int getSugarFlowDistance(int x, int y) {
+    return sugarFlow.getDistance(getTileIndex(x, y));
+  }
+
+  /**
+   * @param x
+   * @param y
+   * @return the flat index of the tile with sugar that {@link #getSugarFlowDistance(int, int)} measures to, or
+   * {@link #NO_TILE}
+   */
+  public int getSugarFlowTarget(int x, int y) {
+    return sugarFlow.getSource(getTileIndex(x, y));
+  }
+
+  /**
+   * Next step from the provided coordinates towards the closest tile with sugar. Unoccupied tiles are preferred among
+   * equally good steps. A step across the edge of the world leads to the opposite edge.
+   *
+   * @param x
+   * @param y
+   * @return the {@link Direction} to step in, or null if the tile holds sugar or no sugar is in range
+   */
+  public Direction findSugarFlowStep(int x, int y) {
+    return sugarFlow.findStep(x, y, isOccupied);
+  }
+
+  /**
+   * @param x
+   * @param y
+   * @return the live {@link Cell} occupying the tile, or null
+   */
+  public Cell getCell(int x, int y) {
+    return cellOf(occupant[getTileIndex(x, y)]);
+  }
+
+  /**
+   * @param x
+   * @param y
+   * @param cell a registered {@link Cell}, or null to vacate the tile
+   */
+  public void setCell(int x, int y, Cell cell) {
+    int tileIndex = getTileIndex(x, y);
+    cellGrid.replace(tileIndex, cell == null ? null : cell.getBreed());
+    occupant[tileIndex] = handleOf(cell);
+  }
+
+  /**
+   * Finds the closest live {@link Cell} of the provided {@link Breed} within a square around the provided coordinates,
+   * not counting the one on the center tile and without wrapping around the edges of the world. Distance is measured
+   * in the larger of the two axes, the 3x3 square around the center counting as one ring; among equally close
+   * {@link Cell}s the one in the lowest row, then in the lowest column, wins.
+   *
+   * @param x
+   * @param y
+   * @param radius half the edge length of the square
+   * @param breed  the {@link Breed} to look for
+   * @return the closest {@link Cell}, or null
+   */
+  public Cell findClosestCellOf(int x, int y, int radius, Breed breed) {
+    int tile = cellGrid.findClosest(x, y, radius, breed, true, false);
+    return tile == CellGrid.NONE ? null : cellOf(occupant[tile]);
+  }
+
+  /**
+   * Like {@link #findClosestCellOf(int, int, int, Breed)}, but looks for a live {@link Cell} of any other
+   * {@link Breed}, including one on the center tile.
+   *
+   * @param x
+   * @param y
+   * @param radius half the edge length of the square
+   * @param breed  the {@link Breed} to ignore
+   * @return the closest {@link Cell}, or null
+   */
+  public Cell findClosestCellNotOf(int x, int y, int radius, Breed breed) {
+    int tile = cellGrid.findClosest(x, y, radius, breed, false, true);
+    return tile == CellGrid.NONE ? null : cellOf(occupant[tile]);
+  }
+
+  /**
+   * @param x
+   * @param y
+   * @return the corpse lying on the tile, or null
+   */
+  public Cell getDeadCell(int x, int y) {
+    return cellOf(corpse[getTileIndex(x, y)]);
+  }
+
+  /**
+   * @param x
+   * @param y
+   * @param deadCell a registered {@link Cell}, or null to clear the tile
+   */
+  public void setDeadCell(int x, int y, Cell deadCell) {
+    int tileIndex = getTileIndex(x, y);
+    if ((corpse[tileIndex] == NO_CELL) != (deadCell == null)) {
+      corpseCount.addAndGet(deadCell == null ? -1 : 1);
+    }
+    corpseGrid.replace(tileIndex, deadCell == null ? null : deadCell.getBreed());
+    corpse[tileIndex] = handleOf(deadCell);
+  }
+
+  /**
+   * Finds the closest corpse within a square around the provided coordinates, without wrapping around the edges of the
+   * world. Distance is measured in the larger of the two axes, the 3x3 square around the center counting as one ring;
+   * among equally close corpses the one in the lowest row, then in the lowest column, wins. Returns right away while
+   * the world holds no corpses.
+   *
+   * @param x
+   * @param y
+   * @param radius half the edge length of the square
+   * @return the closest corpse, or null
+   */
+  public Cell findClosestCorpse(int x, int y, int radius) {
+    if (corpseCount.get() == 0) {
+      return null;
+    }
+    int tile = corpseGrid.findClosest(x, y, radius, null, true, true);
+    return tile == CellGrid.NONE ? null : cellOf(corpse[tile]);
+  }
+
+  /**
+   * Lists the tiles of the provided rows on which a live {@link Cell} stands, or a corpse lies, without visiting every
+   * tile of the rows. The order of the tiles only depends on the order in which they were occupied.
+   *
+   * @param y0    the first row
+   * @param rows  the number of rows
+   * @param alive whether to list the tiles of live {@link Cell}s or of corpses
+   * @param into  where to list the flat indices of the tiles, large enough for every tile of the rows
+   * @return the number of tiles listed
+   */
+  public int listOccupiedTiles(int y0, int rows, boolean alive, int[] into) {
+    return (alive ? cellGrid : corpseGrid).listRows(y0, y0 + rows - 1, into);
+  }
+
+  /**
+   * A trail loses one unit of strength per tick, so its strength is derived from the tick at which it runs out.
+   *
+   * @param x
+   * @param y
+   * @return the remaining strength of the trail on the tile, zero once it has run out
+   */
+  public int getTrailAmount(int x, int y) {
+    return Math.max(0, trailExpiry[getTileIndex(x, y)] - tick);
+  }
+
+  /**
+   * @param x
+   * @param y
+   * @return the {@link Cell} which left the trail on the tile, or null
+   */
+  public Cell getTrailSource(int x, int y) {
+    return cellOf(trailSource[getTileIndex(x, y)]);
+  }
+
+  /**
+   * @param x
+   * @param y
+   * @param amount initial strength of the trail
+   * @param source the {@link Cell} leaving the trail
+   */
+  public void setTrail(int x, int y, int amount, Cell source) {
+    int tileIndex = getTileIndex(x, y);
+    int expiry = tick + amount;
+    trailExpiry[tileIndex] = expiry;
+    trailSource[tileIndex] = handleOf(source);
+    int chunk = chunkOf(tileIndex);
+    dirtyChunks[chunk] = true;
+    if (chunkTrailExpiry[chunk] < expiry) {
+      chunkTrailExpiry[chunk] = expiry;
+    }
+  }
+
+  /**
+   * @return the number of chunk columns
+   */
+  public int getChunksX() {
+    return chunksX;
+  }
+
+  /**
+   * @return the number of chunk rows
+   */
+  public int getChunksY() {
+    return chunksY;
+  }
+
+  /**
+   * @param chunk index of the chunk, {@code chunkY * chunksX + chunkX}
+   * @return whether or not sugar or a trail changed within the chunk since it was last cleaned, including trails
+   * which merely faded
+   */
+  public boolean isChunkDirty(int chunk) {
+    return dirtyChunks[chunk] || (tick > cleanTick && chunkTrailExpiry[chunk] > cleanTick);
+  }
+
+  /**
+   * @param chunk index of the chunk, {@code chunkY * chunksX + chunkX}
+   * @return whether or not sugar changed or a trail was left within the chunk since it was last cleaned, unlike
+   * {@link #isChunkDirty(int)} ignoring trails which merely faded
+   */
+  public boolean isChunkChanged(int chunk) {
+    return dirtyChunks[chunk];
+  }
+
+  /**
+   * @param chunk index of the chunk to mark as changed
+   */
+  public void markChunkDirty(int chunk) {
+    dirtyChunks[chunk] = true;
+  }
+
+  /**
+   * Marks every chunk as unchanged.
+   */
+  public void cleanChunks() {
+    Arrays.fill(dirtyChunks, false);
+    cleanTick = tick;
+  }
+
+  private void markDirty(int tileIndex) {
+    dirtyChunks[chunkOf(tileIndex)] = true;
+  }
+
+  private int chunkOf(int tileIndex) {
+    return (tileIndex / width / CHUNK_SIZE) * chunksX + (tileIndex % width) / CHUNK_SIZE;
+  }
+
+  /**
+   * Assigns a handle to the provided {@link Cell}. Only registered {@link Cell}s can be placed on the grid.
+   *
+   * @param cell the {@link Cell} entering the world
+   */
+  public void register(Cell cell) {
+    int handle;
+    if (freeHandleCount > 0) {
+      handle = freeHandles[--freeHandleCount];
+    }
+    else {
+      if (nextHandle > HANDLE_SLOT_MASK) {
+        throw new IllegalStateException("More than " + HANDLE_SLOT_MASK + " cells at once");
+      }
+      if (nextHandle == cellsByHandle.length) {
+        cellsByHandle = Arrays.copyOf(cellsByHandle, cellsByHandle.length * 2);
+      }
+      handle = nextHandle++;
+    }
+    cellsByHandle[slotOf(handle)] = cell;
+    cell.setHandle(handle);
+  }
+
+  /**
+   * Drops the provided {@link Cell} from the handle table and frees its row in the {@link CellTable}. A {@link Cell}
+   * only ever references itself on the tile it stands or lies on, which is cleared here, so searches never run into a
+   * released {@link Cell}. Its slot in the handle table is reused under the next generation of the handle, so other
+   * stale references (such as old trails or sugar watchers) resolve to null; a reference would only be mistaken for
+   * a new {@link Cell} after 256 reuses of its slot, long after any trail has run out. Releasing a {@link Cell} twice
+   * has no further effect.
+   *
+   * @param cell the {@link Cell} leaving the world
+   */
+  public void release(Cell cell) {
+    int handle = cell.getHandle();
+    if (cellOf(handle) == cell) {
+      int tileIndex = getTileIndex(cell.getX(), cell.getY());
+      if (occupant[tileIndex] == handle) {
+        setCell(cell.getX(), cell.getY(), null);
+      }
+      if (corpse[tileIndex] == handle) {
+        setDeadCell(cell.getX(), cell.getY(), null);
+      }
+      cellsByHandle[slotOf(handle)] = null;
+      cell.releaseState();
+      if (freeHandleCount == freeHandles.length) {
+        freeHandles = Arrays.copyOf(freeHandles, freeHandleCount * 2);
+      }
+      // the generation wraps around once it overflows the high bits
+      freeHandles[freeHandleCount++] = handle + (1 << HANDLE_SLOT_BITS);
+    }
+  }
+
+  /**
+   * @param handle a handle assigned by {@link #register(Cell)}
+   * @return the slot of the handle table the handle refers to, below the number of {@link Cell}s ever registered at once
+   */
+  static int slotOf(int handle) {
+    return handle & HANDLE_SLOT_MASK;
+  }
+
+  /**
+   * @return the registered {@link Cell} with the provided handle, or null if there is none, such as for a handle whose
+   * {@link Cell} has been released
+   */
+  private Cell cellOf(int handle) {
+    Cell cell = cellsByHandle[slotOf(handle)];
+    return cell != null && cell.getHandle() == handle ? cell : null;
+  }
+
+  private static int handleOf(Cell cell) {
+    return cell == null ? NO_CELL : cell.getHandle();
+  }
+
+  /**
+   * Collects the tiles of a square around the provided coordinates, wrapping around the edges of the world.
    *
    * @param x
    * @param y
    * @param radius
-   * @return
+   * @return the flat indices of the surrounding tiles
    */
-  public ArrayList<Tile> getTileEnvironment(int x, int y, int radius) {
-    ArrayList<Tile> surroundingTiles = new ArrayList<>();
+  public int[] getTileEnvironment(int x, int y, int radius) {
+    int[] surroundingTiles = new int[4 * radius * radius];
+    int n = 0;
     for (int i = x - radius; i < x + radius; i++){
       for (int j = y - radius; j < y + radius; j++){
         int validX = i >= getWidth()  ? 0 - (getWidth() -1 - i) : i < 0 ? getWidth() -1 + i : i;
         int validY = j >= getHeight()  ? 0 - (getHeight() - 1 - j) : j < 0 ? getHeight() -1 + j: j;
-        surroundingTiles.add(world[validY][validX]);
+        surroundingTiles[n++] = getTileIndex(validX, validY);
       }
     }
     return surroundingTiles;
   }
 
   /**
-   * @return
+   * @return the table which stores the state of every {@link Cell} created for this world
    */
-  public Set<Cell> getAllCells() {
-    return allCells;
+  public CellTable getCellTable() {
+    return cellTable;
   }
 
   /**
-   * @return
+   * @return every live {@link Cell} and corpse which has been inserted into the world and not yet eaten
+   */
+  public CellStore getCells() {
+    return cells;
+  }
+
+  /**
+   * @return the {@link Cell}s waiting to be inserted, or the calling thread's buffer while one is set
    */
   public Set<Cell> getNewBornCells() {
-    return newBornCells;
+    Set<Cell> local = localNewBornCells.get();
+    return local != null ? local : newBornCells;
   }
 
+  /**
+   * @return the corpses waiting to be removed, or the calling thread's buffer while one is set
+   */
   public Set<Cell> getEatenCorpses() {
-    return eatenCorpses;
+    Set<Cell> local = localEatenCorpses.get();
+    return local != null ? local : eatenCorpses;
+  }
+
+  /**
+   * Redirects births and eaten corpses of the calling thread into its own buffers, so that partitions of the world can
+   * be simulated concurrently. Pass nulls to return to the shared collections.
+   *
+   * @param newBornCells buffer for {@link Cell}s born on this thread
+   * @param eatenCorpses buffer for corpses eaten on this thread
+   */
+  public void bufferLocally(Set<Cell> newBornCells, Set<Cell> eatenCorpses) {
+    localNewBornCells.set(newBornCells);
+    localEatenCorpses.set(eatenCorpses);
   }
 
-  @SuppressWarnings ("ImplicitNumericConversion")
+  /**
+   * Sugar is totalled in whole units per tile, the fractions of every tile being dropped. The total is kept up to date
+   * by {@link #setSugar(int, double)}.
+   *
+   * @return the sugar of the whole world
+   */
   public int getTotalSugar() {
-    int result = 0;
-    for (int i = 0; i < width; i++) {
-      for (int j = 0; j < height; j++) {
-        result += world[j][i].getSugar().getAmount();
-      }
+    return (int) totalSugar.sum();
+  }
+
+  /**
+   * @param x
+   * @param y
+   * @return the index of the region containing the tile, {@code (y / REGION_SIZE) * getRegionsX() + x / REGION_SIZE}
+   */
+  public int getRegion(int x, int y) {
+    return (y / REGION_SIZE) * regionsX + x / REGION_SIZE;
+  }
+
+  private int regionOf(int tileIndex) {
+    return getRegion(tileIndex % width, tileIndex / width);
+  }
+
+  /**
+   * @return the number of region columns
+   */
+  public int getRegionsX() {
+    return regionsX;
+  }
+
+  /**
+   * @return the number of region rows
+   */
+  public int getRegionsY() {
+    return regionsY;
+  }
+
+  /**
+   * @param region index of the region, see {@link #getRegion(int, int)}
+   * @return the sugar within the region, in whole units per tile like {@link #getTotalSugar()}
+   */
+  public long getRegionSugar(int region) {
+    return regionSugar[region];
+  }
+
+  /**
+   * @param region index of the region, see {@link #getRegion(int, int)}
+   * @return the number of live {@link Cell}s within the region
+   */
+  public int countLiveCellsIn(int region) {
+    return cellTable.countLiveIn(region);
+  }
+
+  /**
+   * @param region index of the region, see {@link #getRegion(int, int)}
+   * @return the number of corpses within the region
+   */
+  public int countDeadCellsIn(int region) {
+    return cellTable.countDeadIn(region);
+  }
+
+  /**
+   * @param breed
+   * @return the number of live {@link Cell}s of the {@link Breed} which have been inserted into the world
+   */
+  public int countLiveCells(Breed breed) {
+    return cellTable.countLive(breed);
+  }
+
+  /**
+   * @param breed
+   * @return the number of corpses of the {@link Breed} which have not been eaten yet
+   */
+  public int countDeadCells(Breed breed) {
+    return cellTable.countDead(breed);
+  }
+
+  /**
+   * @return the number of live {@link Cell}s which have been inserted into the world
+   */
+  public int countLiveCells() {
+    int live = 0;
+    for (Breed breed : BREEDS) {
+      live += cellTable.countLive(breed);
+    }
+    return live;
+  }
+
+  /**
+   * @return the number of corpses which have not been eaten yet
+   */
+  public int countDeadCells() {
+    int dead = 0;
+    for (Breed breed : BREEDS) {
+      dead += cellTable.countDead(breed);
     }
-    return result;
+    return dead;
   }
 }